@@ -0,0 +1,62 @@
+package com.xinyi.utils.file.benchmark;
+
+import com.xinyi.utils.file.io.FileCopyMove;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FileCopyMove#copyFile(String, String)} 的基准测试，覆盖小文件到大文件的单文件复制
+ *
+ * @author 新一
+ * @since 2025/4/7 14:40
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileCopyBenchmark {
+
+    /** 源文件大小：4KB、1MB、64MB */
+    @Param({"4096", "1048576", "67108864"})
+    public long fileSize;
+
+    private File workDir;
+    private File srcFile;
+    private File destFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDir = SyntheticTree.createTempDir("copy-bench");
+        srcFile = new File(workDir, "src.bin");
+        destFile = new File(workDir, "dest.bin");
+        SyntheticTree.createFile(srcFile, fileSize);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteDest() {
+        // copyFile 遇到已存在的目标会直接失败，每次调用后清理
+        destFile.delete();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SyntheticTree.delete(workDir);
+    }
+
+    @Benchmark
+    public boolean copyFile() {
+        return FileCopyMove.copyFile(srcFile.getAbsolutePath(), destFile.getAbsolutePath());
+    }
+}
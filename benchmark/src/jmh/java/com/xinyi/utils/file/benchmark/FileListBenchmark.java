@@ -0,0 +1,72 @@
+package com.xinyi.utils.file.benchmark;
+
+import android.os.Build;
+
+import com.xinyi.utils.file.entity.FileEntity;
+import com.xinyi.utils.file.io.FileListUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FileListUtil#getFilesInDir(File)} 和 {@link FileListUtil#getAllFileAndDirectoryList(String, boolean)} 的基准测试，
+ * 目录树中的文件内容为空，只衡量遍历和读取文件属性的开销
+ *
+ * @author 新一
+ * @since 2025/4/7 15:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileListBenchmark {
+
+    /** 目录深度 */
+    @Param({"2", "4", "5"})
+    public int depth;
+
+    /** 每个目录下的文件数 */
+    @Param({"8", "64"})
+    public int filesPerDir;
+
+    /** 模拟的 API 级别：35 走 java.nio.file，23 走 Os.stat，19 走 File 的逐项调用 */
+    @Param({"35", "23", "19"})
+    public int sdkInt;
+
+    private File root;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Build.VERSION.SDK_INT = sdkInt;
+        root = SyntheticTree.createTempDir("list-bench");
+        SyntheticTree.create(root, depth, 4, filesPerDir, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Build.VERSION.SDK_INT = Build.VERSION_CODES.VANILLA_ICE_CREAM;
+        SyntheticTree.delete(root);
+    }
+
+    @Benchmark
+    public List<File> getFilesInDir() {
+        return FileListUtil.getFilesInDir(root);
+    }
+
+    @Benchmark
+    public List<FileEntity> getAllFileAndDirectoryList() throws IOException {
+        return FileListUtil.getAllFileAndDirectoryList(root.getPath(), true);
+    }
+}
@@ -0,0 +1,64 @@
+package com.xinyi.utils.file.benchmark;
+
+import android.os.Build;
+
+import com.xinyi.utils.file.io.FileSizeUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FileSizeUtil#getFileSizes(File)} 的基准测试
+ *
+ * @author 新一
+ * @since 2025/4/7 15:45
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileSizeBenchmark {
+
+    /** 目录深度 */
+    @Param({"2", "4", "5"})
+    public int depth;
+
+    /** 每个目录下的文件数 */
+    @Param({"8", "64"})
+    public int filesPerDir;
+
+    /** 模拟的 API 级别：35 走 java.nio.file，23 走 Os.stat，19 走 File 的逐项调用 */
+    @Param({"35", "23", "19"})
+    public int sdkInt;
+
+    private File root;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Build.VERSION.SDK_INT = sdkInt;
+        root = SyntheticTree.createTempDir("size-bench");
+        SyntheticTree.create(root, depth, 4, filesPerDir, 128);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Build.VERSION.SDK_INT = Build.VERSION_CODES.VANILLA_ICE_CREAM;
+        SyntheticTree.delete(root);
+    }
+
+    @Benchmark
+    public long getFileSizes() {
+        return FileSizeUtil.getFileSizes(root);
+    }
+}
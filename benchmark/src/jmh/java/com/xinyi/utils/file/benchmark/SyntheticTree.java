@@ -0,0 +1,101 @@
+package com.xinyi.utils.file.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+
+/**
+ * 基准测试用的合成目录树，按深度、分支数和每目录文件数生成固定内容的文件
+ *
+ * @author 新一
+ * @since 2025/4/7 14:20
+ */
+final class SyntheticTree {
+
+    private SyntheticTree() { }
+
+    /**
+     * 创建一个临时工作目录
+     *
+     * @param prefix 目录名前缀
+     * @return 新建的空目录
+     */
+    static File createTempDir(String prefix) throws IOException {
+        File dir = File.createTempFile(prefix, "");
+        if (!dir.delete() || !dir.mkdirs()) {
+            throw new IOException("无法创建临时目录: " + dir.getAbsolutePath());
+        }
+        return dir;
+    }
+
+    /**
+     * 生成目录树
+     *
+     * @param root 根目录
+     * @param depth 目录深度（0 表示只在根目录下生成文件）
+     * @param fanout 每个目录的子目录数
+     * @param filesPerDir 每个目录下的文件数
+     * @param fileSize 单个文件大小（字节）
+     */
+    static void create(File root, int depth, int fanout, int filesPerDir, int fileSize) throws IOException {
+        // 固定种子，保证不同轮次的数据一致；半随机内容让压缩率接近真实文本
+        byte[] content = new byte[fileSize];
+        Random random = new Random(42);
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + random.nextInt(8));
+        }
+        createLevel(root, depth, fanout, filesPerDir, content);
+    }
+
+    /**
+     * 生成一个指定大小的单文件
+     *
+     * @param file 目标文件
+     * @param size 文件大小（字节）
+     */
+    static void createFile(File file, long size) throws IOException {
+        byte[] block = new byte[64 * 1024];
+        new Random(42).nextBytes(block);
+        try (OutputStream os = new FileOutputStream(file)) {
+            long remaining = size;
+            while (remaining > 0) {
+                int len = (int) Math.min(block.length, remaining);
+                os.write(block, 0, len);
+                remaining -= len;
+            }
+        }
+    }
+
+    /**
+     * 递归删除目录树
+     *
+     * @param file 文件或目录
+     */
+    static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static void createLevel(File dir, int depth, int fanout, int filesPerDir, byte[] content) throws IOException {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("无法创建目录: " + dir.getAbsolutePath());
+        }
+        for (int i = 0; i < filesPerDir; i++) {
+            try (OutputStream os = new FileOutputStream(new File(dir, "file_" + i + ".txt"))) {
+                os.write(content);
+            }
+        }
+        if (depth > 0) {
+            for (int i = 0; i < fanout; i++) {
+                createLevel(new File(dir, "dir_" + i), depth - 1, fanout, filesPerDir, content);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.xinyi.utils.file.benchmark;
+
+import com.xinyi.utils.file.zip.StandardZipUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StandardZipUtil#zipFiles} 与 {@link StandardZipUtil#unzipFile(File, File)} 的基准测试
+ *
+ * @author 新一
+ * @since 2025/4/7 15:05
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ZipBenchmark {
+
+    /** 目录深度 */
+    @Param({"1", "3"})
+    public int depth;
+
+    /** 每个目录下的文件数 */
+    @Param({"16", "128"})
+    public int filesPerDir;
+
+    /** 单个文件大小（字节） */
+    @Param({"4096", "262144"})
+    public int fileSize;
+
+    private File workDir;
+    private File srcDir;
+    private File zipFile;
+    private File outZipFile;
+    private File unzipDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDir = SyntheticTree.createTempDir("zip-bench");
+        srcDir = new File(workDir, "src");
+        zipFile = new File(workDir, "src.zip");
+        outZipFile = new File(workDir, "out.zip");
+        unzipDir = new File(workDir, "unzip");
+        SyntheticTree.create(srcDir, depth, 4, filesPerDir, fileSize);
+        StandardZipUtil.zipFiles(Collections.singletonList(srcDir), zipFile);
+    }
+
+    @TearDown(Level.Invocation)
+    public void cleanOutput() {
+        outZipFile.delete();
+        SyntheticTree.delete(unzipDir);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SyntheticTree.delete(workDir);
+    }
+
+    @Benchmark
+    public boolean zipFiles() throws IOException {
+        return StandardZipUtil.zipFiles(Collections.singletonList(srcDir), outZipFile);
+    }
+
+    @Benchmark
+    public boolean unzipFile() throws IOException {
+        return StandardZipUtil.unzipFile(zipFile, unzipDir);
+    }
+}
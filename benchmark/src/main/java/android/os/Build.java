@@ -0,0 +1,25 @@
+package android.os;
+
+/**
+ * android.os.Build 的 JVM 替身，仅供基准测试模块编译 library 源码使用。
+ * 桌面 JVM 具备 java.nio.file 等高版本 API，SDK_INT 默认视为最新版本；
+ * 该字段不是编译期常量，基准测试可在 Setup 中按 @Param 修改，以分别测量各 API 分支。
+ *
+ * @author 新一
+ * @since 2025/4/7 14:05
+ */
+public class Build {
+
+    public static class VERSION {
+        public static int SDK_INT = VERSION_CODES.VANILLA_ICE_CREAM;
+    }
+
+    public static class VERSION_CODES {
+        public static final int KITKAT = 19;
+        public static final int LOLLIPOP = 21;
+        public static final int M = 23;
+        public static final int N = 24;
+        public static final int O = 26;
+        public static final int VANILLA_ICE_CREAM = 35;
+    }
+}
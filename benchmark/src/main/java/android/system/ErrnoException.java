@@ -0,0 +1,17 @@
+package android.system;
+
+/**
+ * android.system.ErrnoException 的 JVM 替身，仅供基准测试模块编译 library 源码使用
+ *
+ * @author 新一
+ * @since 2025/4/17 10:20
+ */
+public final class ErrnoException extends Exception {
+
+    public final int errno;
+
+    public ErrnoException(String functionName, int errno) {
+        super(functionName);
+        this.errno = errno;
+    }
+}
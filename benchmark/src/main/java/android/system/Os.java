@@ -0,0 +1,62 @@
+package android.system;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+/**
+ * android.system.Os 的 JVM 替身，仅供基准测试模块编译 library 源码使用。
+ * 基准测试把 SDK_INT 设为 21 ~ 25 时 library 会走 Os.stat 分支，这里通过 java.nio.file 完成同样的一次属性读取。
+ *
+ * @author 新一
+ * @since 2025/4/17 10:20
+ */
+public final class Os {
+
+    /** 平台支持 unix 属性视图时直接读取 st_mode，否则由基本属性推算文件类型 */
+    private static final boolean UNIX_VIEW = FileSystems.getDefault().supportedFileAttributeViews().contains("unix");
+
+    private Os() { }
+
+    public static StructStat stat(String path) throws ErrnoException {
+        return stat("stat", path);
+    }
+
+    public static StructStat lstat(String path) throws ErrnoException {
+        return stat("lstat", path, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    private static StructStat stat(String functionName, String pathName, LinkOption... options) throws ErrnoException {
+        StructStat st = new StructStat();
+        try {
+            Path path = Paths.get(pathName);
+            if (UNIX_VIEW) {
+                Map<String, Object> attrs = Files.readAttributes(path, "unix:mode,size,lastModifiedTime", options);
+                st.st_mode = (Integer) attrs.get("mode");
+                st.st_size = (Long) attrs.get("size");
+                st.st_mtime = ((FileTime) attrs.get("lastModifiedTime")).toMillis() / 1000;
+            } else {
+                BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class, options);
+                st.st_mode = attrs.isSymbolicLink() ? OsConstants.S_IFLNK
+                        : attrs.isDirectory() ? OsConstants.S_IFDIR
+                        : attrs.isRegularFile() ? OsConstants.S_IFREG : 0;
+                st.st_size = attrs.size();
+                st.st_mtime = attrs.lastModifiedTime().toMillis() / 1000;
+            }
+            return st;
+        } catch (NoSuchFileException e) {
+            throw new ErrnoException(functionName, OsConstants.ENOENT);
+        } catch (IOException | InvalidPathException e) {
+            // 路径无法按当前平台编码时同样视为 IO 错误，由调用方退回到 File 的方法
+            throw new ErrnoException(functionName, OsConstants.EIO);
+        }
+    }
+}
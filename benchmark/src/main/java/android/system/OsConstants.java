@@ -0,0 +1,31 @@
+package android.system;
+
+/**
+ * android.system.OsConstants 的 JVM 替身，仅供基准测试模块编译 library 源码使用（取 Linux 常量值）
+ *
+ * @author 新一
+ * @since 2025/4/17 10:20
+ */
+public final class OsConstants {
+
+    public static final int ENOENT = 2;
+    public static final int EIO = 5;
+    public static final int S_IFMT = 0170000;
+    public static final int S_IFDIR = 0040000;
+    public static final int S_IFREG = 0100000;
+    public static final int S_IFLNK = 0120000;
+
+    private OsConstants() { }
+
+    public static boolean S_ISDIR(int mode) {
+        return (mode & S_IFMT) == S_IFDIR;
+    }
+
+    public static boolean S_ISREG(int mode) {
+        return (mode & S_IFMT) == S_IFREG;
+    }
+
+    public static boolean S_ISLNK(int mode) {
+        return (mode & S_IFMT) == S_IFLNK;
+    }
+}
@@ -0,0 +1,13 @@
+package android.system;
+
+/**
+ * android.system.StructStat 的 JVM 替身，仅供基准测试模块编译 library 源码使用
+ *
+ * @author 新一
+ * @since 2025/4/17 10:20
+ */
+public final class StructStat {
+    public int st_mode;
+    public long st_size;
+    public long st_mtime;
+}
@@ -0,0 +1,25 @@
+package android.util;
+
+/**
+ * android.util.Log 的 JVM 替身，仅供基准测试模块编译 library 源码使用。
+ * 日志直接丢弃，避免在计时循环中产生额外的输出开销
+ *
+ * @author 新一
+ * @since 2025/4/7 14:05
+ */
+public final class Log {
+
+    private Log() { }
+
+    public static int e(String tag, String msg) {
+        return 0;
+    }
+
+    public static int e(String tag, String msg, Throwable tr) {
+        return 0;
+    }
+
+    public static int w(String tag, String msg) {
+        return 0;
+    }
+}
@@ -2,14 +2,35 @@ package com.xinyi.utils.file.entity;
 
 import androidx.annotation.NonNull;
 
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
 /**
  * 文件实体类，用于封装文件或文件夹的基本信息
+ * <p>
+ * 最后修改时间以毫秒时间戳保存，仅在首次调用 {@link #getLastModified()} 时格式化，
+ * 列出大量文件但只显示其中一部分时，无需为每个条目都创建日期字符串。
  *
  * @author 新一
  * @since 2025/3/17 14:52
  */
 public class FileEntity {
 
+    /** 标准的日期格式 */
+    public static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    /** 时间戳未知 */
+    public static final long UNKNOWN_TIME = -1;
+
+    /** SimpleDateFormat 非线程安全，每个线程缓存一个实例 */
+    private static final ThreadLocal<SimpleDateFormat> FORMATTER = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            return new SimpleDateFormat(DATE_FORMAT, Locale.CHINA);
+        }
+    };
+
     /** 文件名 */
     private String name;
 
@@ -19,7 +40,10 @@ public class FileEntity {
     /** 文件路径 */
     private String path;
 
-    /** 文件最后修改时间 */
+    /** 文件最后修改时间（毫秒时间戳） */
+    private long lastModifiedMillis = UNKNOWN_TIME;
+
+    /** 格式化后的最后修改时间，按需生成 */
     private String lastModified;
 
     /** 是否是文件夹 */
@@ -35,6 +59,14 @@ public class FileEntity {
         this.isDirectory = isDirectory;
     }
 
+    public FileEntity(String name, long size, String path, long lastModifiedMillis, boolean isDirectory) {
+        this.name = name;
+        this.size = size;
+        this.path = path;
+        this.lastModifiedMillis = lastModifiedMillis;
+        this.isDirectory = isDirectory;
+    }
+
     // Getters & Setters
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
@@ -45,9 +77,26 @@ public class FileEntity {
     public String getPath() { return path; }
     public void setPath(String path) { this.path = path; }
 
-    public String getLastModified() { return lastModified; }
+    /**
+     * @return 格式为 {@link #DATE_FORMAT} 的最后修改时间，首次调用时才格式化
+     */
+    public String getLastModified() {
+        if (lastModified == null && lastModifiedMillis != UNKNOWN_TIME) {
+            lastModified = FORMATTER.get().format(new Date(lastModifiedMillis));
+        }
+        return lastModified;
+    }
     public void setLastModified(String lastModified) { this.lastModified = lastModified; }
 
+    /**
+     * @return 最后修改时间（毫秒时间戳），通过字符串设置时为 {@link #UNKNOWN_TIME}
+     */
+    public long getLastModifiedMillis() { return lastModifiedMillis; }
+    public void setLastModifiedMillis(long lastModifiedMillis) {
+        this.lastModifiedMillis = lastModifiedMillis;
+        this.lastModified = null;
+    }
+
     public boolean isDirectory() { return isDirectory; }
     public void setDirectory(boolean directory) { isDirectory = directory; }
 
@@ -58,7 +107,7 @@ public class FileEntity {
                 "name='" + name + '\'' +
                 ", size=" + size +
                 ", path='" + path + '\'' +
-                ", lastModified='" + lastModified + '\'' +
+                ", lastModified='" + getLastModified() + '\'' +
                 ", isDirectory=" + isDirectory +
                 '}';
     }
@@ -0,0 +1,242 @@
+package com.xinyi.utils.file.io;
+
+import android.util.Log;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 长期持有的追加写入器：文件通道保持打开，写入先进入内存缓冲区，缓冲区写满或到达定时刷新间隔时才批量写入文件。
+ * <p>
+ * 适用于日志等高频小块追加场景，避免每次写入都打开、刷新、关闭文件。{@link #flush()} 把缓冲数据写入文件，
+ * {@link #sync()} 在此基础上强制落盘；使用完毕必须调用 {@link #close()}，否则定时刷新任务会一直持有该写入器。
+ * 所有方法均线程安全。
+ *
+ * @author 新一
+ * @since 2025/4/18 10:15
+ */
+public final class AppendWriter implements Closeable, Flushable {
+
+    private static final String TAG = AppendWriter.class.getSimpleName();
+
+    /** 默认缓冲区大小 */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** 默认定时刷新间隔（毫秒） */
+    public static final long DEFAULT_FLUSH_INTERVAL_MS = 1000;
+
+    private final File file;
+    private final FileOutputStream out;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final ScheduledFuture<?> flushTask;
+    private boolean closed;
+
+    /**
+     * 使用默认缓冲区大小和刷新间隔打开追加写入器
+     *
+     * @param file 目标文件（不存在时自动创建，父目录需已存在）
+     * @throws IOException 打开文件失败时抛出异常
+     */
+    public AppendWriter(File file) throws IOException {
+        this(file, DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL_MS);
+    }
+
+    /**
+     * @param file            目标文件（不存在时自动创建，父目录需已存在）
+     * @param bufferSize      缓冲区大小，写满即刷新
+     * @param flushIntervalMs 定时刷新间隔（毫秒），小于等于 0 时不定时刷新
+     * @throws IOException 打开文件失败时抛出异常
+     */
+    public AppendWriter(File file, int bufferSize, long flushIntervalMs) throws IOException {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize 必须大于 0");
+        }
+        this.file = file;
+        this.out = new FileOutputStream(file, true);
+        this.channel = out.getChannel();
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        if (flushIntervalMs > 0) {
+            flushTask = Scheduler.INSTANCE.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        flush();
+                    } catch (IOException e) {
+                        Log.e(TAG, "定时刷新失败: " + AppendWriter.this.file, e);
+                    }
+                }
+            }, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            flushTask = null;
+        }
+    }
+
+    /**
+     * 追加字符串（UTF-8 编码）
+     *
+     * @param content 字符串内容
+     * @throws IOException 写入失败或写入器已关闭时抛出异常
+     */
+    public void write(String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 追加字节数组
+     *
+     * @param data 数据
+     * @throws IOException 写入失败或写入器已关闭时抛出异常
+     */
+    public void write(byte[] data) throws IOException {
+        write(data, 0, data.length);
+    }
+
+    /**
+     * 追加字节数组的一部分；超过缓冲区容量的数据在清空缓冲区后直接写入文件
+     *
+     * @param data   数据
+     * @param offset 起始位置
+     * @param length 长度
+     * @throws IOException 写入失败或写入器已关闭时抛出异常
+     */
+    public synchronized void write(byte[] data, int offset, int length) throws IOException {
+        ensureOpen();
+        if (length > buffer.remaining()) {
+            drain();
+            if (length >= buffer.capacity()) {
+                writeFully(ByteBuffer.wrap(data, offset, length));
+                return;
+            }
+        }
+        buffer.put(data, offset, length);
+    }
+
+    /**
+     * 把缓冲区中的数据写入文件（不保证落盘）
+     *
+     * @throws IOException 写入失败时抛出异常，未写入的数据保留在缓冲区中
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        if (!closed) {
+            drain();
+        }
+    }
+
+    /**
+     * 把缓冲区中的数据写入文件并强制落盘，用于需要保证持久化的节点
+     *
+     * @throws IOException 写入或落盘失败、写入器已关闭时抛出异常
+     */
+    public synchronized void sync() throws IOException {
+        ensureOpen();
+        drain();
+        channel.force(false);
+    }
+
+    /**
+     * @return 文件当前长度加上尚未写入的缓冲数据长度
+     * @throws IOException 读取文件长度失败、写入器已关闭时抛出异常
+     */
+    public synchronized long length() throws IOException {
+        ensureOpen();
+        return channel.size() + buffer.position();
+    }
+
+    /**
+     * @return 目标文件
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * 刷新剩余数据并关闭文件，重复调用无副作用。
+     * 刷新失败时写入器保持打开、未写入的数据仍在缓冲区中，可再次调用本方法重试
+     *
+     * @throws IOException 刷新或关闭失败时抛出异常
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        drain();
+        closed = true;
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        out.close();
+    }
+
+    /**
+     * 关闭文件并丢弃尚未写入的缓冲数据，用于写入失败后放弃当前文件
+     */
+    synchronized void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        buffer.clear();
+        try {
+            out.close();
+        } catch (IOException e) {
+            Log.e(TAG, "关闭文件失败: " + file, e);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("写入器已关闭: " + file);
+        }
+    }
+
+    private void drain() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        try {
+            writeFully(buffer);
+        } finally {
+            // 只丢弃已写入的部分，写入失败时未写入的数据留在缓冲区中，下次刷新或关闭时重试
+            buffer.compact();
+        }
+    }
+
+    private void writeFully(ByteBuffer src) throws IOException {
+        while (src.hasRemaining()) {
+            channel.write(src);
+        }
+    }
+
+    /**
+     * 所有写入器共用的定时刷新线程（守护线程，首次使用时创建）
+     */
+    private static final class Scheduler {
+        static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "AppendWriter-flusher");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
@@ -0,0 +1,324 @@
+package com.xinyi.utils.file.io;
+
+import android.util.Log;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步日志写入器：生产者线程把记录放入无锁队列后立即返回，由单个后台线程批量写入当天的日志文件。
+ * <p>
+ * 日志文件由 {@link FileOperation#createDateNewFile} 创建在 {@code dirPath/yyyy-MM-dd/} 下，
+ * 日期变化或当前文件超过大小上限时自动切换到新文件。后台线程每次清空队列后刷新一次缓冲区，
+ * 开启组提交落盘时同一批记录只执行一次 fsync。进程退出前需调用 {@link #close()}，否则队列中的记录可能丢失。
+ * <p>
+ * 写入失败（如磁盘已满）时不会切换到新文件，而是保留未写入的记录，按指数退避稍后重新写入同一文件；
+ * 队列中的记录数达到上限后新记录会被丢弃并计入 {@link #getDroppedCount()}。
+ *
+ * @author 新一
+ * @since 2025/4/18 15:30
+ */
+public final class AsyncLogWriter implements Closeable {
+
+    private static final String TAG = AsyncLogWriter.class.getSimpleName();
+
+    /** 默认队列中最多积压的记录数 */
+    public static final int DEFAULT_MAX_QUEUED_RECORDS = 64 * 1024;
+
+    /** 单批最多写入的记录数，超过后先刷新一次，避免持续高负载时迟迟不刷新 */
+    private static final int MAX_BATCH = 1024;
+
+    /** 写入失败后的首次重试延迟，之后每次失败翻倍 */
+    private static final long RETRY_DELAY_MS = 500;
+
+    /** 重试延迟上限 */
+    private static final long MAX_RETRY_DELAY_MS = 30 * 1000;
+
+    private final String dirPath;
+    private final String filePrefix;
+    private final String fileExtension;
+    private final long maxFileSize;
+    private final boolean syncOnBatch;
+    private final int maxQueuedRecords;
+    private final ConcurrentLinkedQueue<byte[]> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writerThread;
+    /** 写入线程是否（即将）挂起，生产者只在此时才需要唤醒它 */
+    private volatile boolean sleeping;
+    private volatile boolean closed;
+    /** 写入线程已退出（正常关闭或异常终止） */
+    private volatile boolean dead;
+
+    // 以下字段仅由写入线程访问
+    private AppendWriter writer;
+    private File currentFile;
+    private long fileSize;
+    private long nextDayMillis;
+    private int failures;
+    private long retryAtMillis;
+
+    /**
+     * @param dirPath       日志根目录
+     * @param filePrefix    文件名前缀
+     * @param fileExtension 文件后缀，如 ".log"
+     * @param maxFileSize   单个文件大小上限（字节），小于等于 0 时只按日期切换
+     * @param syncOnBatch   是否在每批记录写入后强制落盘（组提交）
+     */
+    public AsyncLogWriter(String dirPath, String filePrefix, String fileExtension, long maxFileSize, boolean syncOnBatch) {
+        this(dirPath, filePrefix, fileExtension, maxFileSize, syncOnBatch, DEFAULT_MAX_QUEUED_RECORDS);
+    }
+
+    /**
+     * @param dirPath          日志根目录
+     * @param filePrefix       文件名前缀
+     * @param fileExtension    文件后缀，如 ".log"（为 null 时不带后缀）
+     * @param maxFileSize      单个文件大小上限（字节），小于等于 0 时只按日期切换
+     * @param syncOnBatch      是否在每批记录写入后强制落盘（组提交）
+     * @param maxQueuedRecords 队列中最多积压的记录数，超出后 {@link #append} 丢弃新记录
+     */
+    public AsyncLogWriter(String dirPath, String filePrefix, String fileExtension, long maxFileSize,
+                          boolean syncOnBatch, int maxQueuedRecords) {
+        FileOperation.validatePath(dirPath, "日志目录路径为空");
+        if (maxQueuedRecords <= 0) {
+            throw new IllegalArgumentException("maxQueuedRecords 必须大于 0");
+        }
+        this.dirPath = dirPath;
+        this.filePrefix = filePrefix;
+        this.fileExtension = fileExtension == null ? "" : fileExtension;
+        this.maxFileSize = maxFileSize;
+        this.syncOnBatch = syncOnBatch;
+        this.maxQueuedRecords = maxQueuedRecords;
+        this.writerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    loop();
+                } catch (Throwable t) {
+                    Log.e(TAG, "日志写入线程异常退出", t);
+                } finally {
+                    dead = true;
+                    discardQueue();
+                    closeWriter();
+                }
+            }
+        }, "AsyncLogWriter");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 追加一条记录（原样写入，换行符需由调用方添加），不会等待磁盘 IO
+     *
+     * @param record 日志记录
+     * @return true: 已入队；false: 写入器已关闭、写入线程已终止或队列已满（记录被丢弃）
+     */
+    public boolean append(String record) {
+        if (closed || dead) {
+            return false;
+        }
+        if (queued.incrementAndGet() > maxQueuedRecords) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        queue.offer(record.getBytes(StandardCharsets.UTF_8));
+        if (sleeping) {
+            sleeping = false;
+            LockSupport.unpark(writerThread);
+        }
+        return true;
+    }
+
+    /**
+     * @return 因队列已满、写入异常或关闭时无法写入而被丢弃的记录数
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * 停止接收新记录，等待队列中已有记录全部写入后关闭文件；
+     * 与 close() 并发调用 {@link #append} 的记录不保证被写入，关闭时写入失败的记录不再重试
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writerThread);
+        boolean interrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void loop() {
+        int batch = 0;
+        while (true) {
+            byte[] record = queue.peek();
+            if (record != null) {
+                long now = System.currentTimeMillis();
+                if (!closed && now < retryAtMillis) {
+                    // 退避期间记录留在队列中，到时再写
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(retryAtMillis - now));
+                    continue;
+                }
+                if (write(record, now)) {
+                    queue.poll();
+                    queued.decrementAndGet();
+                    if (++batch >= MAX_BATCH) {
+                        commit();
+                        batch = 0;
+                    }
+                } else if (closed) {
+                    // 关闭时不再重试，剩余记录计入丢弃数
+                    break;
+                }
+                continue;
+            }
+            if (batch > 0) {
+                commit();
+                batch = 0;
+            }
+            if (closed) {
+                // 关闭后生产者不再入队，再检查一次即可退出
+                if (queue.isEmpty()) {
+                    break;
+                }
+                continue;
+            }
+            sleeping = true;
+            // 设置标记后再检查一次，避免错过标记设置前入队的记录
+            if (queue.isEmpty() && !closed) {
+                LockSupport.park(this);
+            }
+            sleeping = false;
+        }
+    }
+
+    /**
+     * 写入一条记录
+     *
+     * @return true: 已写入；false: 写入失败，已安排退避重试
+     */
+    private boolean write(byte[] record, long now) {
+        try {
+            if (currentFile == null || now >= nextDayMillis
+                    || (maxFileSize > 0 && fileSize > 0 && fileSize + record.length > maxFileSize)) {
+                rotate(now);
+            }
+            if (writer == null) {
+                // 首次写入或上次失败后重新打开同一个文件
+                writer = new AppendWriter(currentFile, AppendWriter.DEFAULT_BUFFER_SIZE, 0);
+                fileSize = writer.length();
+            }
+            writer.write(record);
+            fileSize += record.length;
+            return true;
+        } catch (IOException e) {
+            onFailure("写入日志失败", e, now);
+            return false;
+        } catch (RuntimeException e) {
+            // 非 IO 异常重试也不会成功，丢弃该记录
+            queue.poll();
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            onFailure("写入日志异常，丢弃记录", e, now);
+            return false;
+        }
+    }
+
+    /**
+     * 刷新本批记录，开启组提交时一并落盘；失败时数据留在写入器缓冲区中，下次刷新时重试
+     */
+    private void commit() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            if (syncOnBatch) {
+                writer.sync();
+            } else {
+                writer.flush();
+            }
+            // 数据确实写入文件后才重置退避
+            failures = 0;
+        } catch (IOException e) {
+            onFailure("刷新日志失败", e, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 记录失败并安排指数退避；通道已不可用时放弃当前写入器，重试时重新打开同一个文件
+     */
+    private void onFailure(String message, Exception e, long now) {
+        failures++;
+        long delay = Math.min(MAX_RETRY_DELAY_MS, RETRY_DELAY_MS << Math.min(failures - 1, 6));
+        retryAtMillis = now + delay;
+        Log.e(TAG, message + "，" + delay + "ms 后重试", e);
+        if (e instanceof ClosedChannelException && writer != null) {
+            writer.abort();
+            writer = null;
+        }
+    }
+
+    /**
+     * 切换到新的日志文件；新文件创建成功后才会替换当前文件，失败时不会留下多余的空文件
+     */
+    private void rotate(long now) throws IOException {
+        closeWriter();
+        currentFile = null;
+        currentFile = FileOperation.createDateNewFile(dirPath, filePrefix, fileExtension);
+        fileSize = 0;
+        nextDayMillis = startOfNextDay(now);
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            Log.e(TAG, "关闭日志文件失败，丢弃未写入的数据: " + writer.getFile(), e);
+            writer.abort();
+        }
+        writer = null;
+    }
+
+    private void discardQueue() {
+        while (queue.poll() != null) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+        }
+    }
+
+    private static long startOfNextDay(long now) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(now);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,109 @@
+package com.xinyi.utils.file.io;
+
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 目录并行复制/移动任务，基于 fork/join 将目录树拆分为子任务并发处理。
+ * 每个目录任务先创建目标目录，再派生子目录任务和文件批次任务，保证目录总是先于其子项创建。
+ *
+ * @author 新一
+ * @since 2025/4/2 10:20
+ */
+@RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+final class DirCopyTask extends RecursiveTask<Boolean> {
+
+    /** 单个文件批次任务处理的最大文件数 */
+    private static final int FILE_BATCH_SIZE = 32;
+
+    private final File srcDir;
+    private final File destDir;
+    private final boolean isMove;
+    /** 整棵树共享的失败标记，任一子任务失败后其余任务尽快退出 */
+    private final AtomicBoolean failed;
+
+    DirCopyTask(File srcDir, File destDir, boolean isMove) {
+        this(srcDir, destDir, isMove, new AtomicBoolean(false));
+    }
+
+    private DirCopyTask(File srcDir, File destDir, boolean isMove, AtomicBoolean failed) {
+        this.srcDir = srcDir;
+        this.destDir = destDir;
+        this.isMove = isMove;
+        this.failed = failed;
+    }
+
+    @Override
+    protected Boolean compute() {
+        if (failed.get()) {
+            return false;
+        }
+        if (!destDir.exists() && !destDir.mkdirs()) {
+            failed.set(true);
+            return false;
+        }
+        File[] files = srcDir.listFiles();
+        if (files != null) {
+            List<RecursiveTask<Boolean>> tasks = new ArrayList<>();
+            List<File> batch = new ArrayList<>(FILE_BATCH_SIZE);
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    tasks.add(new DirCopyTask(file, new File(destDir, file.getName()), isMove, failed));
+                } else if (file.isFile()) {
+                    batch.add(file);
+                    if (batch.size() == FILE_BATCH_SIZE) {
+                        tasks.add(new FileBatchTask(batch));
+                        batch = new ArrayList<>(FILE_BATCH_SIZE);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                tasks.add(new FileBatchTask(batch));
+            }
+            boolean result = true;
+            for (RecursiveTask<Boolean> task : invokeAll(tasks)) {
+                result &= task.join();
+            }
+            if (!result) {
+                return false;
+            }
+        }
+        if (isMove) {
+            return FileOperation.deleteFileOrDirectory(srcDir);
+        }
+        return true;
+    }
+
+    /**
+     * 文件批次任务：顺序复制/移动同一目录下的一批文件
+     */
+    private final class FileBatchTask extends RecursiveTask<Boolean> {
+
+        private final List<File> files;
+
+        FileBatchTask(List<File> files) {
+            this.files = files;
+        }
+
+        @Override
+        protected Boolean compute() {
+            for (File file : files) {
+                if (failed.get()) {
+                    return false;
+                }
+                if (!FileCopyMove.copyOrMoveFile(file, new File(destDir, file.getName()), isMove)) {
+                    failed.set(true);
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
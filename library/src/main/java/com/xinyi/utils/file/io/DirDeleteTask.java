@@ -0,0 +1,118 @@
+package com.xinyi.utils.file.io;
+
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 目录并行删除任务，基于 fork/join 将目录树拆分为子任务并发删除。
+ * 每个子项先直接尝试删除，只有删除失败且为非空目录时才派生子任务，普通文件无需额外的 stat；
+ * 符号链接只删除链接本身，不会进入其指向的目录。
+ *
+ * @author 新一
+ * @since 2025/4/21 10:40
+ */
+@RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+final class DirDeleteTask extends RecursiveTask<Boolean> {
+
+    /** 单个批次任务处理的最大子项数 */
+    private static final int BATCH_SIZE = 64;
+
+    private final File dir;
+    /** 整棵树共享的首个删除失败项，任一子任务失败后其余任务尽快退出 */
+    private final AtomicReference<File> failedFile;
+
+    DirDeleteTask(File dir) {
+        this(dir, new AtomicReference<File>());
+    }
+
+    private DirDeleteTask(File dir, AtomicReference<File> failedFile) {
+        this.dir = dir;
+        this.failedFile = failedFile;
+    }
+
+    /**
+     * @return 首个删除失败的文件或目录，全部成功时为 null
+     */
+    File getFailedFile() {
+        return failedFile.get();
+    }
+
+    @Override
+    protected Boolean compute() {
+        if (failedFile.get() != null) {
+            return false;
+        }
+        File[] children = dir.listFiles();
+        if (children != null && children.length > 0) {
+            List<ChildBatchTask> tasks = new ArrayList<>(children.length / BATCH_SIZE + 1);
+            for (int from = 0; from < children.length; from += BATCH_SIZE) {
+                int to = Math.min(from + BATCH_SIZE, children.length);
+                tasks.add(new ChildBatchTask(Arrays.copyOfRange(children, from, to)));
+            }
+            boolean result = true;
+            for (ChildBatchTask task : invokeAll(tasks)) {
+                result &= task.join();
+            }
+            if (!result) {
+                return false;
+            }
+        }
+        if (!dir.delete() && dir.exists()) {
+            failedFile.compareAndSet(null, dir);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 批次任务：逐个删除同一目录下的一批子项，遇到非空目录时派生目录任务
+     */
+    private final class ChildBatchTask extends RecursiveTask<Boolean> {
+
+        private final File[] files;
+
+        ChildBatchTask(File[] files) {
+            this.files = files;
+        }
+
+        @Override
+        protected Boolean compute() {
+            List<DirDeleteTask> dirTasks = null;
+            for (File file : files) {
+                if (failedFile.get() != null) {
+                    return false;
+                }
+                if (file.delete()) {
+                    continue;
+                }
+                // isDirectory() 会跟随链接，先排除符号链接，删除失败的链接也绝不进入其指向的目录
+                boolean link = FileStat.isSymbolicLink(file);
+                if (!link && file.isDirectory()) {
+                    if (dirTasks == null) {
+                        dirTasks = new ArrayList<>();
+                    }
+                    dirTasks.add(new DirDeleteTask(file, failedFile));
+                } else if (link || file.exists()) {
+                    failedFile.compareAndSet(null, file);
+                    return false;
+                }
+            }
+            if (dirTasks == null) {
+                return true;
+            }
+            boolean result = true;
+            for (DirDeleteTask task : invokeAll(dirTasks)) {
+                result &= task.join();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.xinyi.utils.file.io;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 可持久化的目录大小缓存：按目录记录修改时间、直接子文件的大小小计以及子目录列表。
+ * <p>
+ * 查询时只校验被查询目录的子树：每个目录只做一次 stat 比较修改时间，只有修改时间发生变化的目录才会重新列出内容，
+ * 未变化的子树直接使用缓存的小计。刚校验过的子树在重新校验间隔内再次查询（例如先查父目录再逐个查子目录）
+ * 直接返回缓存的总大小，不再 stat。缓存可通过 {@link #save()} 写入应用缓存目录下的文件，
+ * 下次启动后 {@link #load()} 即可复用；文件中每个目录只出现一次，子目录只记录名称。
+ * <p>
+ * 修改时间距离列出时刻不足 {@link #MTIME_GRANULARITY_MS} 的目录视为不稳定（同一秒内的后续修改无法通过修改时间区分），
+ * 下次查询时总会重新列出。
+ * <p>
+ * 注意：目录的修改时间只在其直接子项增删、重命名时变化，文件原地写入导致的大小变化不会被感知，
+ * 这种场景需调用 {@link #invalidate(File)} 使对应目录的缓存失效。
+ *
+ * @author 新一
+ * @since 2025/4/16 16:40
+ */
+public final class DirectorySizeCache {
+
+    private static final String TAG = DirectorySizeCache.class.getSimpleName();
+    /** 缓存文件魔数 "XSDC" */
+    private static final int MAGIC = 0x58534443;
+    private static final int VERSION = 2;
+    private static final String[] NO_CHILDREN = new String[0];
+    /** 文件系统修改时间的最大粒度（FAT 为 2 秒） */
+    public static final long MTIME_GRANULARITY_MS = 2000;
+    /** 默认重新校验间隔 */
+    public static final long DEFAULT_REVALIDATE_INTERVAL_MS = 1000;
+    /** 修改时间不可信，下次查询必须重新列出 */
+    private static final long UNSTABLE = -1;
+
+    private final File cacheFile;
+    private final long revalidateIntervalMs;
+    /** 目录绝对路径 -> 目录缓存项 */
+    private final Map<String, Node> nodes = new HashMap<>();
+    private boolean dirty;
+
+    /**
+     * @param cacheFile 持久化文件，例如 {@code new File(context.getCacheDir(), "dir_size.cache")}
+     */
+    public DirectorySizeCache(File cacheFile) {
+        this(cacheFile, DEFAULT_REVALIDATE_INTERVAL_MS);
+    }
+
+    /**
+     * @param cacheFile            持久化文件
+     * @param revalidateIntervalMs 子树校验后在该时间内再次查询直接返回缓存结果，为 0 时每次查询都校验
+     */
+    public DirectorySizeCache(File cacheFile, long revalidateIntervalMs) {
+        this.cacheFile = cacheFile;
+        this.revalidateIntervalMs = Math.max(0, revalidateIntervalMs);
+    }
+
+    /**
+     * 获取目录总大小，仅重新列出修改时间发生变化的目录
+     *
+     * @param dir 目录
+     * @return 目录总大小（字节）
+     */
+    public synchronized long sizeOf(File dir) {
+        if (dir == null || !dir.isDirectory()) {
+            return 0;
+        }
+        return revalidate(dir.getAbsolutePath(), System.currentTimeMillis());
+    }
+
+    /**
+     * 使指定目录的缓存失效，下次查询时重新列出该目录，其上级目录也会重新校验
+     *
+     * @param dir 目录
+     */
+    public synchronized void invalidate(File dir) {
+        if (dir == null) {
+            return;
+        }
+        if (nodes.remove(dir.getAbsolutePath()) != null) {
+            dirty = true;
+        }
+        for (File parent = dir.getAbsoluteFile().getParentFile(); parent != null; parent = parent.getParentFile()) {
+            Node node = nodes.get(parent.getPath());
+            if (node != null) {
+                node.validatedAt = 0;
+            }
+        }
+    }
+
+    /**
+     * 清空全部缓存（不删除持久化文件）
+     */
+    public synchronized void clear() {
+        nodes.clear();
+        dirty = true;
+    }
+
+    /**
+     * 从持久化文件加载缓存，文件不存在或格式不符时保持空缓存
+     *
+     * @return {@code true}：加载成功；{@code false}：加载失败
+     */
+    public synchronized boolean load() {
+        if (cacheFile == null || !cacheFile.isFile()) {
+            return false;
+        }
+        Map<String, Node> loaded = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return false;
+            }
+            int rootCount = in.readInt();
+            for (int i = 0; i < rootCount; i++) {
+                readTree(in, in.readUTF(), loaded);
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "load: 读取目录大小缓存失败", e);
+            return false;
+        }
+        nodes.clear();
+        nodes.putAll(loaded);
+        dirty = false;
+        return true;
+    }
+
+    /**
+     * 将缓存写入持久化文件（先写临时文件再重命名，避免写入中断留下损坏的缓存）
+     *
+     * @return {@code true}：保存成功或无需保存；{@code false}：保存失败
+     */
+    public synchronized boolean save() {
+        if (!dirty) {
+            return true;
+        }
+        if (cacheFile == null || !FileOperation.createOrExistsDir(cacheFile.getParentFile())) {
+            return false;
+        }
+        File tmpFile = new File(cacheFile.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            // 只写出各棵子树的根目录的完整路径，子目录按先序紧随其后且只记录名称
+            List<String> roots = new ArrayList<>();
+            for (String path : nodes.keySet()) {
+                String parent = new File(path).getParent();
+                if (parent == null || !nodes.containsKey(parent)) {
+                    roots.add(path);
+                }
+            }
+            out.writeInt(roots.size());
+            for (String root : roots) {
+                out.writeUTF(root);
+                writeTree(out, root, nodes.get(root));
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "save: 写入目录大小缓存失败", e);
+            tmpFile.delete();
+            return false;
+        }
+        if (!tmpFile.renameTo(cacheFile)) {
+            cacheFile.delete();
+            if (!tmpFile.renameTo(cacheFile)) {
+                tmpFile.delete();
+                return false;
+            }
+        }
+        dirty = false;
+        return true;
+    }
+
+    /**
+     * 先序写出目录缓存项及其已缓存的子目录
+     */
+    private void writeTree(DataOutputStream out, String path, Node node) throws IOException {
+        out.writeLong(node.lastModified);
+        out.writeLong(node.fileBytes);
+        out.writeInt(node.children.length);
+        for (String name : node.children) {
+            out.writeUTF(name);
+            String childPath = childPath(path, name);
+            Node child = nodes.get(childPath);
+            out.writeBoolean(child != null);
+            if (child != null) {
+                writeTree(out, childPath, child);
+            }
+        }
+    }
+
+    private static void readTree(DataInputStream in, String path, Map<String, Node> loaded) throws IOException {
+        Node node = new Node();
+        node.lastModified = in.readLong();
+        node.fileBytes = in.readLong();
+        int childCount = in.readInt();
+        if (childCount < 0) {
+            throw new IOException("缓存文件已损坏: " + path);
+        }
+        node.children = childCount == 0 ? NO_CHILDREN : new String[childCount];
+        loaded.put(path, node);
+        for (int i = 0; i < childCount; i++) {
+            String name = in.readUTF();
+            node.children[i] = name;
+            if (in.readBoolean()) {
+                readTree(in, childPath(path, name), loaded);
+            }
+        }
+    }
+
+    private static String childPath(String parent, String name) {
+        return parent.endsWith(File.separator) ? parent + name : parent + File.separator + name;
+    }
+
+    /**
+     * 校验目录缓存并返回其总大小：修改时间未变则复用小计，否则重新列出该目录
+     */
+    private long revalidate(String path, long now) {
+        Node node = nodes.get(path);
+        if (node != null && node.validatedAt != 0 && now - node.validatedAt < revalidateIntervalMs) {
+            return node.totalBytes;
+        }
+        File dir = new File(path);
+        long lastModified = dir.lastModified();
+        if (node == null || node.lastModified != lastModified || lastModified == 0) {
+            node = relist(dir, path, lastModified, node, now);
+        }
+        long size = node.fileBytes;
+        for (String child : node.children) {
+            size += revalidate(childPath(path, child), now);
+        }
+        node.totalBytes = size;
+        node.validatedAt = now;
+        return size;
+    }
+
+    private Node relist(File dir, String path, long lastModified, Node old, long now) {
+        Node node = new Node();
+        // 列出后同一时间粒度内的修改无法通过修改时间发现，记为不稳定，下次查询重新列出
+        node.lastModified = now - lastModified < MTIME_GRANULARITY_MS ? UNSTABLE : lastModified;
+        File[] files = dir.listFiles();
+        List<String> children = null;
+        if (files != null) {
+            for (File file : files) {
+                FileStat stat = FileStat.of(file);
+                if (stat.isDirectory()) {
+                    if (children == null) {
+                        children = new ArrayList<>();
+                    }
+                    children.add(file.getName());
+                } else {
+                    node.fileBytes += stat.length();
+                }
+            }
+        }
+        node.children = children == null ? NO_CHILDREN : children.toArray(new String[0]);
+        if (old != null) {
+            prune(path, old, children);
+        }
+        nodes.put(path, node);
+        dirty = true;
+        return node;
+    }
+
+    /**
+     * 移除已不存在的子目录及其整棵子树的缓存
+     */
+    private void prune(String path, Node old, List<String> current) {
+        Set<String> alive = current == null ? new HashSet<String>() : new HashSet<>(current);
+        for (String child : old.children) {
+            if (!alive.contains(child)) {
+                removeTree(childPath(path, child));
+            }
+        }
+    }
+
+    private void removeTree(String path) {
+        Node node = nodes.remove(path);
+        if (node != null) {
+            for (String child : node.children) {
+                removeTree(childPath(path, child));
+            }
+        }
+    }
+
+    /**
+     * 单个目录的缓存项
+     */
+    private static final class Node {
+        /** 目录修改时间，{@link #UNSTABLE} 表示需要重新列出 */
+        long lastModified;
+        /** 直接子文件的大小小计（不含子目录） */
+        long fileBytes;
+        /** 直接子目录的名称 */
+        String[] children;
+        /** 最近一次校验得到的总大小（不持久化） */
+        long totalBytes;
+        /** 最近一次校验的时间，0 表示未校验（不持久化） */
+        long validatedAt;
+    }
+}
@@ -0,0 +1,81 @@
+package com.xinyi.utils.file.io;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 目录大小索引：一次自底向上的遍历即可得到整棵子树中每个目录的大小并缓存下来。
+ * <p>
+ * 浏览目录层级时复用同一个索引，列出父目录后再列出子目录不会重复遍历同一棵子树；
+ * 目录内容发生变化后需调用 {@link #clear()} 或重新创建索引。
+ *
+ * @author 新一
+ * @since 2025/4/15 11:10
+ */
+public final class DirectorySizeIndex {
+
+    /** 目录绝对路径 -> 目录总大小（字节） */
+    private final Map<String, Long> sizes = new HashMap<>();
+
+    /**
+     * 创建空索引，目录大小在首次 {@link #sizeOf(File)} 时计算
+     */
+    public DirectorySizeIndex() { }
+
+    /**
+     * 创建索引并立即计算 root 及其全部子目录的大小
+     *
+     * @param root 根目录
+     * @return 目录大小索引
+     */
+    public static DirectorySizeIndex build(File root) {
+        DirectorySizeIndex index = new DirectorySizeIndex();
+        if (root != null && root.isDirectory()) {
+            index.compute(root);
+        }
+        return index;
+    }
+
+    /**
+     * 获取目录大小；未缓存时遍历该目录一次，并顺带缓存其所有子目录的大小
+     *
+     * @param dir 目录
+     * @return 目录总大小（字节）
+     */
+    public synchronized long sizeOf(File dir) {
+        if (dir == null) {
+            return 0;
+        }
+        Long size = sizes.get(dir.getAbsolutePath());
+        return size != null ? size : compute(dir);
+    }
+
+    /**
+     * 清空已缓存的目录大小
+     */
+    public synchronized void clear() {
+        sizes.clear();
+    }
+
+    /**
+     * 后序遍历：先得到子目录大小再累加到父目录，每个目录只遍历一次
+     */
+    private long compute(File dir) {
+        long size = 0;
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                FileStat stat = FileStat.of(file);
+                if (stat.isDirectory()) {
+                    Long cached = sizes.get(file.getAbsolutePath());
+                    size += cached != null ? cached : compute(file);
+                } else {
+                    size += stat.length();
+                }
+            }
+        }
+        sizes.put(dir.getAbsolutePath(), size);
+        return size;
+    }
+}
@@ -1,7 +1,12 @@
 package com.xinyi.utils.file.io;
 
+import android.os.Build;
 import android.util.Log;
+
+import androidx.annotation.RequiresApi;
+
 import java.io.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 文件复制与移动工具类，提供文件/目录的复制与移动操作
@@ -15,6 +20,18 @@ public final class FileCopyMove {
 
     private FileCopyMove() { }
 
+    /**
+     * 移动操作实际采用的策略
+     */
+    public enum MoveStrategy {
+        /** 移动失败 */
+        FAILED,
+        /** 全部通过重命名完成，未复制任何数据（目标不存在时为整体原子重命名，目标目录已存在时逐项重命名合并） */
+        RENAME,
+        /** 至少有一个文件无法重命名（如跨文件系统），复制其数据后删除源文件 */
+        COPY_AND_DELETE
+    }
+
     /**
      * 内部基础方法：复制或移动文件或目录
      *
@@ -30,13 +47,44 @@ public final class FileCopyMove {
         if (!srcFile.exists()) {
             return false;
         }
+        if (isMove) {
+            return moveWithStrategy(srcFile, destFile) != MoveStrategy.FAILED;
+        }
         if (srcFile.isDirectory()) {
-            return copyOrMoveDir(srcFile, destFile, isMove);
+            return copyOrMoveDir(srcFile, destFile, false);
         } else {
-            return copyOrMoveFile(srcFile, destFile, isMove);
+            return copyOrMoveFile(srcFile, destFile, false);
         }
     }
 
+    /**
+     * 移动文件或目录：优先尝试原子重命名，仅在重命名失败（如跨文件系统）时退回到复制后删除
+     *
+     * @param srcFile 源文件或目录
+     * @param destFile 目标文件或目录
+     * @return 实际采用的移动策略；失败时返回 {@link MoveStrategy#FAILED}
+     */
+    public static MoveStrategy moveWithStrategy(File srcFile, File destFile) {
+        if (srcFile == null || destFile == null || !srcFile.exists()) {
+            return MoveStrategy.FAILED;
+        }
+        boolean isDir = srcFile.isDirectory();
+        if (isDir && isInsideDir(srcFile, destFile)) {
+            Log.e(TAG, "Destination directory is inside the source directory.");
+            return MoveStrategy.FAILED;
+        }
+        if (renameIfAbsent(srcFile, destFile)) {
+            return MoveStrategy.RENAME;
+        }
+        CopyTracker tracker = new CopyTracker();
+        boolean result = isDir ? copyOrMoveDir(srcFile, destFile, true, tracker)
+                : copyOrMoveFile(srcFile, destFile, true, tracker);
+        if (!result) {
+            return MoveStrategy.FAILED;
+        }
+        return tracker.copied ? MoveStrategy.COPY_AND_DELETE : MoveStrategy.RENAME;
+    }
+
     /**
      * 复制或移动目录（递归处理子文件）
      *
@@ -46,18 +94,28 @@ public final class FileCopyMove {
      * @return true: 成功；false: 失败
      */
     public static boolean copyOrMoveDir(File srcDir, File destDir, boolean isMove) {
+        return copyOrMoveDir(srcDir, destDir, isMove, null);
+    }
+
+    /**
+     * @param tracker 记录是否发生了数据复制，可为 null
+     */
+    private static boolean copyOrMoveDir(File srcDir, File destDir, boolean isMove, CopyTracker tracker) {
         if (srcDir == null || destDir == null) {
             return false;
         }
-        String srcPath = srcDir.getAbsolutePath() + File.separator;
-        String destPath = destDir.getAbsolutePath() + File.separator;
-        if (destPath.contains(srcPath)) {
+        if (isInsideDir(srcDir, destDir)) {
             Log.e(TAG, "Destination directory is inside the source directory.");
             return false;
         }
         if (!srcDir.exists() || !srcDir.isDirectory()) {
             return false;
         }
+        // 目标目录不存在时整个目录可以直接重命名过去
+        if (isMove && renameIfAbsent(srcDir, destDir)) {
+            return true;
+        }
+        String destPath = destDir.getAbsolutePath() + File.separator;
         if (!destDir.exists() && !destDir.mkdirs()) {
             return false;
         }
@@ -67,11 +125,11 @@ public final class FileCopyMove {
             for (File file : files) {
                 File target = new File(destPath + file.getName());
                 if (file.isFile()) {
-                    if (!copyOrMoveFile(file, target, isMove)) {
+                    if (!copyOrMoveFile(file, target, isMove, tracker)) {
                         return false;
                     }
                 } else if (file.isDirectory()) {
-                    if (!copyOrMoveDir(file, target, isMove)) {
+                    if (!copyOrMoveDir(file, target, isMove, tracker)) {
                         return false;
                     }
                 }
@@ -83,6 +141,41 @@ public final class FileCopyMove {
         return true;
     }
 
+    /**
+     * 并行复制或移动目录：在 ForkJoinPool 上拆分目录树，多个文件并发复制
+     *
+     * @param srcDir 源目录
+     * @param destDir 目标目录
+     * @param isMove 是否为移动操作
+     * @param parallelism 并行度，小于等于 0 时使用 CPU 核心数
+     * @return true: 全部成功；false: 任一子项失败
+     */
+    @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+    public static boolean copyOrMoveDirParallel(File srcDir, File destDir, boolean isMove, int parallelism) {
+        if (srcDir == null || destDir == null) {
+            return false;
+        }
+        if (isInsideDir(srcDir, destDir)) {
+            Log.e(TAG, "Destination directory is inside the source directory.");
+            return false;
+        }
+        if (!srcDir.exists() || !srcDir.isDirectory()) {
+            return false;
+        }
+        if (isMove && renameIfAbsent(srcDir, destDir)) {
+            return true;
+        }
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new DirCopyTask(srcDir, destDir, isMove));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /**
      * 复制或移动文件
      *
@@ -92,6 +185,13 @@ public final class FileCopyMove {
      * @return true: 成功；false: 失败
      */
     public static boolean copyOrMoveFile(File srcFile, File destFile, boolean isMove) {
+        return copyOrMoveFile(srcFile, destFile, isMove, null);
+    }
+
+    /**
+     * @param tracker 记录是否发生了数据复制，可为 null
+     */
+    private static boolean copyOrMoveFile(File srcFile, File destFile, boolean isMove, CopyTracker tracker) {
         if (srcFile == null || destFile == null) {
             return false;
         }
@@ -103,9 +203,17 @@ public final class FileCopyMove {
         if (parentDir != null && !parentDir.exists() && !parentDir.mkdirs()) {
             return false;
         }
+        // 同一文件系统内的移动直接重命名，无需复制数据
+        if (isMove && srcFile.renameTo(destFile)) {
+            return true;
+        }
+        if (tracker != null) {
+            tracker.copied = true;
+        }
         boolean result;
-        try (InputStream is = new FileInputStream(srcFile)) {
-            result = FileIOUtil.writeFileFromIS(destFile, is, false);
+        try {
+            // 文件到文件的复制走通道传输，由内核完成拷贝
+            result = FileIOUtil.copyFileByChannel(srcFile, destFile, false) == srcFile.length();
         } catch (IOException e) {
             e.printStackTrace();
             return false;
@@ -116,6 +224,55 @@ public final class FileCopyMove {
         return result;
     }
 
+    /**
+     * 移动过程中是否实际复制过文件数据
+     */
+    private static final class CopyTracker {
+        boolean copied;
+    }
+
+    /**
+     * 目标不存在时尝试将源文件或目录原子重命名为目标
+     *
+     * @param src 源文件或目录
+     * @param dest 目标文件或目录
+     * @return true: 重命名成功；false: 目标已存在或重命名失败（如跨文件系统）
+     */
+    private static boolean renameIfAbsent(File src, File dest) {
+        if (dest.exists()) {
+            return false;
+        }
+        File parentDir = dest.getParentFile();
+        if (parentDir != null && !parentDir.exists() && !parentDir.mkdirs()) {
+            return false;
+        }
+        return src.renameTo(dest);
+    }
+
+    /**
+     * 判断目标路径是否位于源目录内部（按规范路径逐级比较，"/a/b2" 不算位于 "/a/b" 内部）
+     *
+     * @param srcDir 源目录
+     * @param dest 目标路径
+     * @return true: 目标位于源目录内部或与其相同
+     */
+    private static boolean isInsideDir(File srcDir, File dest) {
+        String srcPath = canonicalPath(srcDir);
+        String destPath = canonicalPath(dest);
+        return destPath.equals(srcPath) || destPath.startsWith(srcPath + File.separator);
+    }
+
+    /**
+     * @return 规范路径；解析失败时退回绝对路径
+     */
+    private static String canonicalPath(File file) {
+        try {
+            return file.getCanonicalPath();
+        } catch (IOException e) {
+            return file.getAbsolutePath();
+        }
+    }
+
     /**
      * 复制目录（传入路径）
      *
@@ -129,6 +286,21 @@ public final class FileCopyMove {
         return copyOrMove(srcDir, destDir, false);
     }
 
+    /**
+     * 并行复制目录（传入路径）
+     *
+     * @param srcDirPath 源目录路径
+     * @param destDirPath 目标目录路径
+     * @param parallelism 并行度，小于等于 0 时使用 CPU 核心数
+     * @return true: 复制成功；false: 复制失败
+     */
+    @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+    public static boolean copyDirParallel(String srcDirPath, String destDirPath, int parallelism) {
+        File srcDir = FileUtil.getFileByPath(srcDirPath);
+        File destDir = FileUtil.getFileByPath(destDirPath);
+        return copyOrMoveDirParallel(srcDir, destDir, false, parallelism);
+    }
+
     /**
      * 复制文件（传入路径）
      *
@@ -155,6 +327,21 @@ public final class FileCopyMove {
         return copyOrMove(srcDir, destDir, true);
     }
 
+    /**
+     * 并行移动目录（传入路径），同一文件系统内仍优先直接重命名
+     *
+     * @param srcDirPath 源目录路径
+     * @param destDirPath 目标目录路径
+     * @param parallelism 并行度，小于等于 0 时使用 CPU 核心数
+     * @return true: 移动成功；false: 移动失败
+     */
+    @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+    public static boolean moveDirParallel(String srcDirPath, String destDirPath, int parallelism) {
+        File srcDir = FileUtil.getFileByPath(srcDirPath);
+        File destDir = FileUtil.getFileByPath(destDirPath);
+        return copyOrMoveDirParallel(srcDir, destDir, true, parallelism);
+    }
+
     /**
      * 移动文件（传入路径）
      *
@@ -1,6 +1,7 @@
 package com.xinyi.utils.file.io;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 
 /**
  * 文件IO工具类，提供将输入流写入文件的方法
@@ -10,6 +11,9 @@ import java.io.*;
  */
 public final class FileIOUtil {
 
+    /** 通道传输时单次 transferTo/transferFrom 的最大字节数 */
+    private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+
     private FileIOUtil() { }
 
     /**
@@ -55,23 +59,80 @@ public final class FileIOUtil {
      * @return true: 写入成功；false: 写入失败
      */
     public static boolean writeFileFromIS(File file, InputStream is, boolean append) throws IOException {
+        return writeFileFromStream(file, is, append, IOBufferPool.DEFAULT_BUFFER_SIZE) >= 0;
+    }
+
+    /**
+     * 将输入流写入文件，使用 {@link IOBufferPool} 中复用的缓冲区，读写循环中不再分配内存
+     *
+     * @param file 文件对象
+     * @param is 输入流（写入完成后会被关闭）
+     * @param append 是否追加到文件末尾
+     * @param bufferSize 缓冲区大小，会被限制在 64KB ~ 1MB 之间
+     * @return 写入的字节数；文件创建失败或输入流为 null 时返回 -1
+     */
+    public static long writeFileFromStream(File file, InputStream is, boolean append, int bufferSize) throws IOException {
         if (!FileOperation.createOrExistsFile(file) || is == null) {
-            return false;
+            return -1;
         }
+        byte[] buffer = IOBufferPool.acquire(bufferSize);
         OutputStream os = null;
         try {
-            os = new BufferedOutputStream(new FileOutputStream(file, append));
-            byte[] data = new byte[1024];
+            // 缓冲区已足够大，直接写入 FileOutputStream，无需再包一层 BufferedOutputStream
+            os = new FileOutputStream(file, append);
+            long total = 0;
             int len;
-            while ((len = is.read(data)) != -1) {
-                os.write(data, 0, len);
+            while ((len = is.read(buffer)) != -1) {
+                os.write(buffer, 0, len);
+                total += len;
             }
-            return true;
+            return total;
         } finally {
+            IOBufferPool.release(buffer);
             is.close();
             if (os != null) {
                 os.close();
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 使用 FileChannel 复制文件，数据由内核直接在两个文件之间传输（sendfile/copy_file_range），
+     * 不经过 Java 堆内缓冲区
+     *
+     * @param srcFile 源文件
+     * @param destFile 目标文件
+     * @param append 是否追加到目标文件末尾
+     * @return 实际传输的字节数
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    public static long copyFileByChannel(File srcFile, File destFile, boolean append) throws IOException {
+        try (FileInputStream fis = new FileInputStream(srcFile);
+             FileOutputStream fos = new FileOutputStream(destFile, append)) {
+            FileChannel srcChannel = fis.getChannel();
+            return transfer(srcChannel, 0, srcChannel.size(), fos.getChannel());
+        }
+    }
+
+    /**
+     * 将源通道中 [position, size) 范围的数据分块传输到目标通道
+     *
+     * @param src 源文件通道
+     * @param position 起始位置
+     * @param size 源文件大小
+     * @param dest 目标文件通道
+     * @return 实际传输的字节数
+     */
+    private static long transfer(FileChannel src, long position, long size, FileChannel dest) throws IOException {
+        long start = position;
+        while (position < size) {
+            long count = src.transferTo(position, Math.min(TRANSFER_CHUNK_SIZE, size - position), dest);
+            if (count <= 0) {
+                // 源文件在传输过程中被截断
+                break;
+            }
+            position += count;
+        }
+        return position - start;
+    }
+}
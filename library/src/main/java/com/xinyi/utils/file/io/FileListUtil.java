@@ -7,7 +7,6 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * 文件列表工具类，提供读取指定目录下的所有文件和文件夹信息以及文本行读取功能
@@ -17,9 +16,6 @@ import java.util.Locale;
  */
 public final class FileListUtil {
 
-    /** 标准的日期格式 */
-    private final static String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
-
     private static final String TAG = FileListUtil.class.getSimpleName();
 
     private FileListUtil() { }
@@ -69,7 +65,8 @@ public final class FileListUtil {
             File[] files = dir.listFiles();
             if (files != null) {
                 for (File f : files) {
-                    if (!f.isHidden() && f.isFile() && f.getName().endsWith(fileExtension)) {
+                    // 先做只依赖文件名的判断，最后才读取文件属性
+                    if (!FileStat.isHidden(f) && f.getName().endsWith(fileExtension) && f.isFile()) {
                         fileList.add(f.getAbsolutePath());
                     }
                 }
@@ -80,6 +77,8 @@ public final class FileListUtil {
 
     /**
      * 获取指定目录及其子目录中的所有文件和文件夹
+     * <p>
+     * 目录很大时建议直接使用 {@link FileWalker} 边遍历边处理，无需把全部结果保存在内存中。
      *
      * @param directoryPath 目录路径
      * @return 文件列表（包含目录和子目录下的所有文件）
@@ -89,34 +88,47 @@ public final class FileListUtil {
         if (directoryPath == null || !directoryPath.exists()) {
             return fileList;
         }
-        File[] files = directoryPath.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                fileList.add(file);
-                if (file.isDirectory()) {
-                    fileList.addAll(getFilesInDir(file));
-                }
-            }
+        for (File file : new FileWalker(directoryPath)) {
+            fileList.add(file);
         }
         return fileList;
     }
 
     /**
      * 获取指定目录下的所有文件和文件夹信息列表。
+     * 各文件夹大小由同一个 {@link DirectorySizeIndex} 一次自底向上遍历得到；
+     * 逐层浏览时可改用带索引的重载，在多次调用间复用索引。
      *
      * @param directoryPath 目录路径
      * @param includeHidden 是否包含隐藏文件或隐藏文件夹
      * @return 包含所有文件和文件夹的实体列表；如果目录无效，则返回空列表
      */
     public static List<FileEntity> getAllFileAndDirectoryList(String directoryPath, boolean includeHidden) throws IOException {
+        return getAllFileAndDirectoryList(directoryPath, includeHidden, null);
+    }
+
+    /**
+     * 获取指定目录下的所有文件和文件夹信息列表，文件夹大小从目录大小索引中获取。
+     * 逐层浏览目录时复用同一个索引，整棵树只需遍历一次。
+     *
+     * @param directoryPath 目录路径
+     * @param includeHidden 是否包含隐藏文件或隐藏文件夹
+     * @param sizeIndex 目录大小索引（为 null 时本次列表内部创建一个索引）
+     * @return 包含所有文件和文件夹的实体列表；如果目录无效，则返回空列表
+     */
+    public static List<FileEntity> getAllFileAndDirectoryList(String directoryPath, boolean includeHidden,
+                                                              DirectorySizeIndex sizeIndex) throws IOException {
         List<FileEntity> entities = new ArrayList<>();
         File[] files = getFilesFromDirectory(directoryPath);
+        if (sizeIndex == null) {
+            sizeIndex = new DirectorySizeIndex();
+        }
         for (File file : files) {
             // 如果为隐藏项且不包含隐藏文件，则跳过
-            if (file.isHidden() && !includeHidden) {
+            if (!includeHidden && FileStat.isHidden(file)) {
                 continue;
             }
-            entities.add(convertToFileEntity(file));
+            entities.add(toFileEntity(file, FileStat.of(file), null, sizeIndex));
         }
         return entities;
     }
@@ -129,17 +141,34 @@ public final class FileListUtil {
      * @return 文件实体列表；若无或无效目录则返回空列表
      */
     public static List<FileEntity> getAllDirectoryList(String directoryPath, boolean includeHidden) throws IOException {
+        return getAllDirectoryList(directoryPath, includeHidden, null);
+    }
+
+    /**
+     * 获取指定目录下的文件夹信息列表，文件夹大小从目录大小索引中获取。
+     *
+     * @param directoryPath 目录路径
+     * @param includeHidden 是否包含隐藏文件夹
+     * @param sizeIndex 目录大小索引（为 null 时本次列表内部创建一个索引）
+     * @return 文件实体列表；若无或无效目录则返回空列表
+     */
+    public static List<FileEntity> getAllDirectoryList(String directoryPath, boolean includeHidden,
+                                                       DirectorySizeIndex sizeIndex) throws IOException {
         List<FileEntity> entities = new ArrayList<>();
         File[] files = getFilesFromDirectory(directoryPath);
+        if (sizeIndex == null) {
+            sizeIndex = new DirectorySizeIndex();
+        }
         for (File file : files) {
-            // 只处理文件夹
-            if (!file.isDirectory()) {
+            if (!includeHidden && FileStat.isHidden(file)) {
                 continue;
             }
-            if (file.isHidden() && !includeHidden) {
+            // 只处理文件夹
+            FileStat stat = FileStat.of(file);
+            if (!stat.isDirectory()) {
                 continue;
             }
-            entities.add(convertToFileEntity(file));
+            entities.add(toFileEntity(file, stat, null, sizeIndex));
         }
         return entities;
     }
@@ -155,14 +184,15 @@ public final class FileListUtil {
         List<FileEntity> entities = new ArrayList<>();
         File[] files = getFilesFromDirectory(directoryPath);
         for (File file : files) {
-            // 只处理文件
-            if (!file.isFile()) {
+            if (!includeHidden && FileStat.isHidden(file)) {
                 continue;
             }
-            if (file.isHidden() && !includeHidden) {
+            // 只处理文件
+            FileStat stat = FileStat.of(file);
+            if (!stat.isFile()) {
                 continue;
             }
-            entities.add(convertToFileEntity(file));
+            entities.add(toFileEntity(file, stat, null, null));
         }
         return entities;
     }
@@ -177,14 +207,15 @@ public final class FileListUtil {
         List<FileEntity> entities = new ArrayList<>();
         File[] files = getFilesFromDirectory(directoryPath);
         for (File file : files) {
-            // 只处理文件
-            if (!file.isFile() || file.isHidden()) {
+            if (FileStat.isHidden(file) || !file.getName().endsWith(fileExtension)) {
                 continue;
             }
-            if (!file.getName().endsWith(fileExtension)) {
+            // 只处理文件
+            FileStat stat = FileStat.of(file);
+            if (!stat.isFile()) {
                 continue;
             }
-            entities.add(convertToFileEntity(file));
+            entities.add(toFileEntity(file, stat, null, null));
         }
         return entities;
     }
@@ -216,22 +247,54 @@ public final class FileListUtil {
     }
 
     /**
-     * 将 File 对象转换为 FileEntity 实体对象。
+     * 将 File 对象转换为 FileEntity 实体对象，最后修改时间在首次读取时才格式化。
      */
     public static FileEntity convertToFileEntity(File file) {
-        return convertToFileEntity(file, new SimpleDateFormat(DATE_FORMAT, Locale.CHINA));
+        return convertToFileEntity(file, null, null);
     }
 
     /**
      * 将 File 对象转换为 FileEntity 实体对象。
      *
      * @param file 文件对象
-     * @param sdf  日期格式化对象
+     * @param sdf  日期格式化对象（为 null 时按 {@link FileEntity#DATE_FORMAT} 延迟格式化）
      * @return 对应的 FileEntity 对象
      */
     public static FileEntity convertToFileEntity(File file, SimpleDateFormat sdf) {
-        long size = file.isDirectory() ? FileSizeUtil.getFileSizes(file) : file.length();
-        String lastModified = sdf.format(new Date(file.lastModified()));
-        return new FileEntity(file.getName(), size, file.getAbsolutePath(), lastModified, file.isDirectory());
+        return convertToFileEntity(file, sdf, null);
+    }
+
+    /**
+     * 将 File 对象转换为 FileEntity 实体对象，文件夹大小从目录大小索引中获取。
+     *
+     * @param file 文件对象
+     * @param sdf  日期格式化对象（为 null 时按 {@link FileEntity#DATE_FORMAT} 延迟格式化）
+     * @param sizeIndex 目录大小索引（为 null 时创建一个临时索引，一次遍历得到该文件夹大小）
+     * @return 对应的 FileEntity 对象
+     */
+    public static FileEntity convertToFileEntity(File file, SimpleDateFormat sdf, DirectorySizeIndex sizeIndex) {
+        FileStat stat = FileStat.of(file);
+        if (sizeIndex == null && stat.isDirectory()) {
+            sizeIndex = new DirectorySizeIndex();
+        }
+        return toFileEntity(file, stat, sdf, sizeIndex);
+    }
+
+    /**
+     * 使用已读取的属性快照构建实体，不再对文件重复执行 stat
+     */
+    private static FileEntity toFileEntity(File file, FileStat stat, SimpleDateFormat sdf, DirectorySizeIndex sizeIndex) {
+        long size;
+        if (stat.isDirectory()) {
+            size = sizeIndex != null ? sizeIndex.sizeOf(file) : FileSizeUtil.getFileSizes(file);
+        } else {
+            size = stat.length();
+        }
+        FileEntity entity = new FileEntity(file.getName(), size, file.getAbsolutePath(), stat.lastModified(), stat.isDirectory());
+        if (sdf != null) {
+            // 调用方指定了格式时按指定格式立即生成
+            entity.setLastModified(sdf.format(new Date(stat.lastModified())));
+        }
+        return entity;
     }
 }
\ No newline at end of file
@@ -2,13 +2,29 @@ package com.xinyi.utils.file.io;
 
 import static com.xinyi.utils.file.io.FileUtil.isSpace;
 
+import android.os.Build;
+import android.util.Log;
+
+import androidx.annotation.RequiresApi;
+
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 文件操作类，提供文件的创建、读取、写入、重命名和删除等常见操作
@@ -18,6 +34,27 @@ import java.util.Locale;
  */
 public final class FileOperation {
 
+    private static final String TAG = FileOperation.class.getSimpleName();
+
+    /** 逐行读取时的字符缓冲区大小 */
+    private static final int LINE_BUFFER_SIZE = 64 * 1024;
+
+    /** createDateNewFile 的序号缓存：日期目录 + 文件名模式 -> 已分配的最大序号，只保留当天的条目 */
+    private static final ConcurrentHashMap<String, AtomicInteger> DATE_FILE_SEQUENCES = new ConcurrentHashMap<>();
+
+    /** 序号缓存对应的日期 */
+    private static volatile String sequenceDate;
+
+    /** 异步清空目录时回收目录的名称后缀 */
+    private static final String TRASH_SUFFIX = ".trash-";
+
+    /** 目录的直接子项不少于该数量时，递归删除交给 fork/join 并行执行 */
+    private static final int PARALLEL_DELETE_THRESHOLD = 128;
+
+    /** 已提交后台删除、尚未完成的回收目录，避免重复提交 */
+    private static final Set<String> PENDING_TRASH =
+            Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
     private FileOperation() { }
 
     /**
@@ -135,8 +172,11 @@ public final class FileOperation {
      * 根据当前日期和文件序号生成新的文件，确保文件名不重复。
      *
      * <p>该方法生成一个新文件，并根据当前日期和文件序号来确保文件名唯一。文件后缀可以自定义。
-     * 它会首先创建一个以当前日期为名称的子目录，如果该目录不存在，则会创建该目录。然后，它会
-     * 依次尝试生成文件名，直到找到一个不存在的文件名为止。</p>
+     * 它会首先创建一个以当前日期为名称的子目录，如果该目录不存在，则会创建该目录。</p>
+     *
+     * <p>同一目录、前缀和后缀首次调用时扫描一次目录得到已有的最大序号，之后在内存中递增，
+     * 新文件序号为已有最大序号 + 1（不回填中间空缺的序号）。文件通过 {@link File#createNewFile()}
+     * 原子创建，同一进程内并发调用不会得到相同的文件。缓存只保留当天的序号，日期目录被删除后重新扫描。</p>
      *
      * @param dirPath 文件存放的目录。
      * @param filePrefix 文件名前缀，用于区分不同文件名。
@@ -145,26 +185,95 @@ public final class FileOperation {
      * @throws IOException 如果创建文件失败。
      */
     public static File createDateNewFile(String dirPath, String filePrefix, String fileExtension) throws IOException {
-        String date = new SimpleDateFormat("yyyy-MM-dd", Locale.CHINA).format(new Date());
+        return createDateNewFile(dirPath, filePrefix, fileExtension, new Date());
+    }
+
+    /**
+     * 按指定日期生成新文件，规则同 {@link #createDateNewFile(String, String, String)}
+     *
+     * @param now 当前时间
+     */
+    static File createDateNewFile(String dirPath, String filePrefix, String fileExtension, Date now) throws IOException {
+        String date = new SimpleDateFormat("yyyy-MM-dd", Locale.CHINA).format(now);
+        if (!date.equals(sequenceDate)) {
+            retainSequencesOf(date);
+        }
         File dateDir = new File(dirPath, date); // 获取当天的子目录
-        if (!dateDir.exists() && !dateDir.mkdirs()) {
-            throw new IOException("无法创建目录: " + dateDir.getAbsolutePath());
+        // 文件名格式为：文件前缀_日期_序号.后缀
+        String namePrefix = filePrefix + "_" + date + "_";
+        String key = dateDir.getAbsolutePath() + File.separatorChar + namePrefix + "*" + fileExtension;
+        if (!dateDir.exists()) {
+            if (!dateDir.mkdirs() && !dateDir.isDirectory()) {
+                throw new IOException("无法创建目录: " + dateDir.getAbsolutePath());
+            }
+            // 日期目录被删除（如日志清理）后重新创建时，序号从头开始
+            DATE_FILE_SEQUENCES.remove(key);
         }
+        AtomicInteger sequence = DATE_FILE_SEQUENCES.get(key);
+        if (sequence == null) {
+            AtomicInteger scanned = new AtomicInteger(scanMaxIndex(dateDir, namePrefix, fileExtension));
+            sequence = DATE_FILE_SEQUENCES.putIfAbsent(key, scanned);
+            if (sequence == null) {
+                sequence = scanned;
+            }
+        }
+        while (true) {
+            File newFile = new File(dateDir, namePrefix + sequence.incrementAndGet() + fileExtension);
+            // 文件已被其他进程创建时继续取下一个序号
+            if (newFile.createNewFile()) {
+                return newFile;
+            }
+        }
+    }
 
-        int index = 1; // 从1开始
-        File newFile;
-        do {
-            // 生成文件名，格式为：文件前缀_日期_序号.后缀
-            String fileName = String.format(Locale.CHINA, "%s_%s_%d%s", filePrefix, date, index, fileExtension);
-            newFile = new File(dateDir, fileName);
-            index++;
-        } while (newFile.exists()); // 递增索引，直到找到不存在的文件名
-
-        if (!newFile.createNewFile()) {
-            throw new IOException("无法创建文件: " + newFile.getAbsolutePath());
+    /**
+     * 日期变化时移除其他日期的序号缓存，避免长期运行的进程每天累积新的条目
+     */
+    private static synchronized void retainSequencesOf(String date) {
+        if (date.equals(sequenceDate)) {
+            return;
+        }
+        String marker = "_" + date + "_*";
+        Iterator<String> iterator = DATE_FILE_SEQUENCES.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().contains(marker)) {
+                iterator.remove();
+            }
         }
+        sequenceDate = date;
+    }
 
-        return newFile;
+    /**
+     * @return 当前缓存的序号条目数
+     */
+    static int cachedSequenceCount() {
+        return DATE_FILE_SEQUENCES.size();
+    }
+
+    /**
+     * 扫描目录中形如 namePrefix + 序号 + extension 的文件，返回最大序号（没有时为 0）
+     */
+    private static int scanMaxIndex(File dir, String namePrefix, String extension) {
+        String[] names = dir.list();
+        int max = 0;
+        if (names == null) {
+            return max;
+        }
+        for (String name : names) {
+            if (!name.startsWith(namePrefix) || !name.endsWith(extension)) {
+                continue;
+            }
+            int end = name.length() - extension.length();
+            if (end <= namePrefix.length()) {
+                continue;
+            }
+            try {
+                max = Math.max(max, Integer.parseInt(name.substring(namePrefix.length(), end)));
+            } catch (NumberFormatException ignored) {
+                // 序号部分不是数字，不是本方法生成的文件
+            }
+        }
+        return max;
     }
 
     /**
@@ -192,6 +301,133 @@ public final class FileOperation {
         }
     }
 
+    /**
+     * 创建并清空目标目录，可选择异步清理旧内容
+     * <p>
+     * 异步模式下先把原目录重命名为同级的隐藏回收目录并重新创建空目录，随即返回，
+     * 旧内容由后台线程删除；重命名失败（如跨文件系统）时退回同步删除。
+     * 上次未删完（如进程被杀）留下的回收目录也会在此时一并清理。
+     *
+     * @param dirPath 目标目录路径
+     * @param async   是否异步删除旧内容
+     * @throws IOException 当创建或清空目录失败时抛出异常
+     */
+    public static void createAndCleanDir(String dirPath, boolean async) throws IOException {
+        validatePath(dirPath, "目录路径为空");
+        File dir = new File(dirPath);
+        if (!async || !dir.exists()) {
+            createAndCleanDir(dirPath);
+            return;
+        }
+        File parent = dir.getAbsoluteFile().getParentFile();
+        String trashPrefix = "." + dir.getName() + TRASH_SUFFIX;
+        File trash = new File(parent, trashPrefix + System.nanoTime());
+        if (parent == null || !dir.renameTo(trash)) {
+            createAndCleanDir(dirPath);
+            return;
+        }
+        // 先提交后台删除再重建目录，重建失败时旧内容也不会遗留
+        deleteInBackground(trash);
+        File[] trashDirs = parent.listFiles();
+        if (trashDirs != null) {
+            for (File file : trashDirs) {
+                if (file.getName().startsWith(trashPrefix)) {
+                    deleteInBackground(file);
+                }
+            }
+        }
+        if (!dir.mkdirs()) {
+            throw new IOException("无法重新创建目录：" + dirPath);
+        }
+    }
+
+    /**
+     * 并行递归删除指定文件或目录，适用于包含大量文件的目录树；符号链接只删除链接本身。
+     * 文件为 null 或不存在时视为已删除
+     *
+     * @param file        文件或目录
+     * @param parallelism 并行度，小于等于 0 时使用共享的删除线程池（CPU 核心数）
+     * @throws IOException 删除失败时抛出异常
+     */
+    @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+    public static void deleteRecursivelyParallel(File file, int parallelism) throws IOException {
+        if (file == null || file.delete() || (!file.exists() && !FileStat.isSymbolicLink(file))) {
+            return;
+        }
+        if (FileStat.isSymbolicLink(file) || !file.isDirectory()) {
+            throw new IOException("无法删除：" + file.getAbsolutePath());
+        }
+        if (parallelism <= 0) {
+            deleteTree(file, DeletePool.INSTANCE);
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            deleteTree(file, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+    private static void deleteTree(File dir, ForkJoinPool pool) throws IOException {
+        DirDeleteTask task = new DirDeleteTask(dir);
+        if (!pool.invoke(task)) {
+            File failed = task.getFailedFile();
+            throw new IOException("无法删除：" + (failed != null ? failed : dir).getAbsolutePath());
+        }
+    }
+
+    /**
+     * 在后台线程中并行删除回收目录，同一目录只提交一次；目录已不存在视为成功，失败时只记录日志
+     */
+    private static void deleteInBackground(final File file) {
+        final String path = file.getAbsolutePath();
+        if (!PENDING_TRASH.add(path)) {
+            return;
+        }
+        TrashCleaner.INSTANCE.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                        deleteRecursivelyParallel(file, 0);
+                    } else if (file.exists()) {
+                        deleteRecursively(file);
+                    }
+                } catch (IOException e) {
+                    if (file.exists()) {
+                        Log.e(TAG, "后台删除失败", e);
+                    }
+                } finally {
+                    PENDING_TRASH.remove(path);
+                }
+            }
+        });
+    }
+
+    /**
+     * 递归删除共用的 fork/join 线程池（守护线程，首次使用时创建）
+     */
+    @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+    private static final class DeletePool {
+        static final ForkJoinPool INSTANCE = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 后台删除回收目录的单线程执行器（守护线程，首次使用时创建）
+     */
+    private static final class TrashCleaner {
+        static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "FileOperation-trash");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
     /**
      * 创建并清空目标文件
      *
@@ -262,14 +498,21 @@ public final class FileOperation {
 
     /**
      * 递归删除指定文件或目录。如果是目录，则删除其下所有内容后再删除目录本身。
+     * 直接子项较多的目录（API 21+）交给 fork/join 并行删除；符号链接只删除链接本身。
      *
      * @param file 文件或目录
      * @throws IOException 删除失败时抛出异常
      */
     public static void deleteRecursively(File file) throws IOException {
-        if (file.isDirectory()) {
+        // isDirectory() 会跟随链接，指向目录的符号链接只删除链接本身
+        if (file.isDirectory() && !FileStat.isSymbolicLink(file)) {
             File[] children = file.listFiles();
             if (children != null) {
+                if (children.length >= PARALLEL_DELETE_THRESHOLD
+                        && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                    deleteTree(file, DeletePool.INSTANCE);
+                    return;
+                }
                 for (File child : children) {
                     deleteRecursively(child);
                 }
@@ -281,7 +524,7 @@ public final class FileOperation {
     }
 
     /**
-     * 将字符串内容写入文件
+     * 将字符串内容写入文件（每次调用都会打开和关闭文件，高频追加请使用 {@link #openAppendWriter}）
      *
      * @param filename 路径+文件名称
      * @param content 写入内容
@@ -307,6 +550,21 @@ public final class FileOperation {
         }
     }
 
+    /**
+     * 打开长期持有的追加写入器，高频追加写入时代替反复调用 {@link #writeFileData}。
+     * 文件及其父目录不存在时自动创建，使用完毕需调用 {@link AppendWriter#close()}。
+     *
+     * @param filename 路径+文件名称
+     * @return 追加写入器
+     * @throws IOException 创建或打开文件失败时抛出异常
+     */
+    public static AppendWriter openAppendWriter(String filename) throws IOException {
+        validatePath(filename, "文件路径为空");
+        File file = new File(filename);
+        ensureParentDirExists(file);
+        return new AppendWriter(file);
+    }
+
     /**
      * 读取文件内容为字符串
      *
@@ -331,6 +589,41 @@ public final class FileOperation {
         }
     }
 
+    /**
+     * 读取文件内容为字符串，保留原始字节（换行符不做转换）。
+     * <p>
+     * 按文件长度一次分配字节数组并通过文件通道批量读满，再直接解码为字符串，
+     * 不再逐行拼接 {@link StringBuilder}，也不经过中间字符缓冲区。
+     *
+     * @param fileName 路径+文件名称
+     * @return 文件内容（按 UTF-8 解码，非法字节替换为 U+FFFD）
+     * @throws IOException 文件不存在、超过 2GB 或读取失败时抛出异常
+     */
+    public static String readFileDataFully(String fileName) throws IOException {
+        File file = FileUtil.getFileByPath(fileName);
+        if (file == null || !file.isFile()) {
+            throw new FileNotFoundException("文件不存在");
+        }
+        try (FileInputStream fis = new FileInputStream(file);
+             FileChannel channel = fis.getChannel()) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("文件过大，无法读取为字符串: " + size);
+            }
+            if (size == 0) {
+                return "";
+            }
+            byte[] bytes = new byte[(int) size];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // 循环直到读满（文件在读取期间被截断时读到末尾为止）
+            }
+            return new String(bytes, 0, buffer.position(), StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new IOException("读取文件失败" + exception.getMessage(), exception);
+        }
+    }
+
     /**
      * 将指定文件的每一行内容读取到一个字符串列表中
      *
@@ -338,23 +631,56 @@ public final class FileOperation {
      * @return 每行内容组成的列表；若失败返回空列表
      */
     public static List<String> readLineToList(String filePath) throws IOException {
-        List<String> lines = new ArrayList<>();
-        File file = FileUtil.getFileByPath(filePath);
-        if (file != null && file.exists() && file.isFile()) {
-            try (InputStreamReader isr = new InputStreamReader(new FileInputStream(file));
-                 BufferedReader br = new BufferedReader(isr)) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    if (!line.isEmpty()) {
-                        String content = line.split("\\+")[0]; // 根据需求分割字符串
-                        lines.add(content);
-                    }
+        final List<String> lines = new ArrayList<>();
+        forEachLine(filePath, new LineCallback() {
+            @Override
+            public boolean onLine(String line) {
+                if (!line.isEmpty()) {
+                    // 根据需求截取第一个 "+" 之前的内容
+                    int end = line.indexOf('+');
+                    lines.add(end < 0 ? line : line.substring(0, end));
                 }
+                return true;
             }
-        } else {
+        });
+        return lines;
+    }
+
+    /**
+     * 逐行流式读取文件（UTF-8），不在内存中保留已处理的行，适合体积很大的日志文件
+     *
+     * @param filePath 文件路径
+     * @param callback 行回调，返回 false 时停止读取
+     * @return true: 读取到文件末尾；false: 被回调提前终止
+     * @throws IOException 文件不存在或读取失败时抛出异常
+     */
+    public static boolean forEachLine(String filePath, LineCallback callback) throws IOException {
+        File file = FileUtil.getFileByPath(filePath);
+        if (file == null || !file.isFile()) {
             throw new FileNotFoundException("文件不存在");
         }
-        return lines;
+        try (BufferedReader br = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8), LINE_BUFFER_SIZE)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (!callback.onLine(line)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 逐行读取回调
+     */
+    public interface LineCallback {
+
+        /**
+         * @param line 当前行内容（不含换行符）
+         * @return true: 继续读取；false: 停止读取
+         */
+        boolean onLine(String line);
     }
 
     /**
@@ -395,23 +721,36 @@ public final class FileOperation {
     }
 
     /**
-     * 删除文件或目录（递归删除目录下所有文件）
+     * 删除文件或目录（递归删除目录下所有文件）；直接子项较多的目录（API 21+）交给 fork/join 并行删除，
+     * 符号链接只删除链接本身
      *
      * @param file 文件或目录
      * @return true: 删除成功；false: 删除失败
      */
     public static boolean deleteFileOrDirectory(File file) {
-        if (file == null || !file.exists()) return false;
+        if (file == null) return false;
         if (file.isFile()) return file.delete();
         if (file.isDirectory()) {
+            // 指向目录的符号链接只删除链接本身，不进入其指向的目录
+            if (FileStat.isSymbolicLink(file)) return file.delete();
             File[] childFiles = file.listFiles();
             if (childFiles != null) {
+                if (childFiles.length >= PARALLEL_DELETE_THRESHOLD
+                        && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                    try {
+                        deleteTree(file, DeletePool.INSTANCE);
+                        return true;
+                    } catch (IOException e) {
+                        return false;
+                    }
+                }
                 for (File child : childFiles) {
                     deleteFileOrDirectory(child);
                 }
             }
             return file.delete();
         }
-        return false;
+        // 指向不存在目标的符号链接
+        return FileStat.isSymbolicLink(file) && file.delete();
     }
 }
\ No newline at end of file
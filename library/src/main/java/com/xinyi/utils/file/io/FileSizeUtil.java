@@ -1,5 +1,9 @@
 package com.xinyi.utils.file.io;
 
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
 import java.io.File;
 import java.text.DecimalFormat;
 
@@ -20,21 +24,35 @@ public final class FileSizeUtil {
      * @return 总字节数
      */
     public static long getFileSizes(File file) {
-        if (file == null || !file.exists()) return 0;
+        if (file == null) return 0;
+        FileStat stat = FileStat.of(file);
+        if (!stat.isDirectory()) {
+            return stat.isFile() ? stat.length() : 0;
+        }
         long size = 0;
-        if (file.isFile()) {
-            return file.length();
-        } else if (file.isDirectory()) {
-            File[] files = file.listFiles();
-            if (files != null) {
-                for (File f : files) {
-                    size += getFileSizes(f);
-                }
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                size += getFileSizes(f);
             }
         }
         return size;
     }
 
+    /**
+     * 并行计算目录下所有文件的大小（单位：字节），适用于文件数量很多的大目录。
+     * 需要取消计算时请直接使用 {@link ParallelSizeCalculator}。
+     *
+     * @param file 文件或目录
+     * @param parallelism 并行度，小于等于 0 时使用 CPU 核心数
+     * @return 总字节数
+     */
+    @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+    public static long getFileSizesParallel(File file, int parallelism) {
+        if (file == null || !file.exists()) return 0;
+        return new ParallelSizeCalculator(parallelism).calculate(file);
+    }
+
     /**
      * 格式化文件大小，自动转换单位（B, KB, MB, GB）
      *
@@ -77,4 +95,17 @@ public final class FileSizeUtil {
         long size = getFileSizes(dir);
         return formatFileSize(size);
     }
+
+    /**
+     * 使用目录大小缓存获取指定目录的格式化大小，目录未变化时无需重新遍历
+     *
+     * @param directoryPath 目录路径
+     * @param cache         目录大小缓存
+     * @return 格式化后的大小字符串
+     */
+    public static String getDirectoryFormatSize(String directoryPath, DirectorySizeCache cache) {
+        if (cache == null) return getDirectoryFormatSize(directoryPath);
+        File dir = FileUtil.getFileByPath(directoryPath);
+        return formatFileSize(cache.sizeOf(dir));
+    }
 }
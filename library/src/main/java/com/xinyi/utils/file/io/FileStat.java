@@ -0,0 +1,181 @@
+package com.xinyi.utils.file.io;
+
+import android.os.Build;
+import android.system.ErrnoException;
+import android.system.Os;
+import android.system.OsConstants;
+import android.system.StructStat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * 文件属性快照：一次系统调用读取文件的存在性、类型、大小和修改时间。
+ * <p>
+ * {@link File} 的 {@code exists()}、{@code isFile()}、{@code isDirectory()}、{@code length()}、
+ * {@code lastModified()} 每次调用都会单独执行一次 stat，遍历大目录时应改为每个条目读取一次快照。
+ * API 26+ 使用 {@link Files#readAttributes}，API 21+ 使用 {@link Os#stat}，
+ * 更低版本退回到逐项调用 {@link File} 的方法。
+ *
+ * @author 新一
+ * @since 2025/4/17 10:20
+ */
+public final class FileStat {
+
+    /** 文件不存在时的快照 */
+    public static final FileStat MISSING = new FileStat(false, false, false, 0, 0);
+
+    private final boolean exists;
+    private final boolean isFile;
+    private final boolean isDirectory;
+    private final long length;
+    private final long lastModified;
+
+    private FileStat(boolean exists, boolean isFile, boolean isDirectory, long length, long lastModified) {
+        this.exists = exists;
+        this.isFile = isFile;
+        this.isDirectory = isDirectory;
+        this.length = length;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * 读取文件属性快照
+     *
+     * @param file 文件对象
+     * @return 属性快照；文件为 null 或不存在时返回 {@link #MISSING}
+     */
+    public static FileStat of(File file) {
+        if (file == null) {
+            return MISSING;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+                return new FileStat(true, attrs.isRegularFile(), attrs.isDirectory(),
+                        attrs.size(), attrs.lastModifiedTime().toMillis());
+            } catch (NoSuchFileException e) {
+                return MISSING;
+            } catch (IOException | RuntimeException e) {
+                return legacy(file);
+            }
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            try {
+                StructStat st = Os.stat(file.getPath());
+                // StructStat 的修改时间只有秒，毫秒精度的修改时间仍从 File 读取
+                return new FileStat(true, OsConstants.S_ISREG(st.st_mode), OsConstants.S_ISDIR(st.st_mode),
+                        st.st_size, file.lastModified());
+            } catch (ErrnoException e) {
+                return e.errno == OsConstants.ENOENT ? MISSING : legacy(file);
+            }
+        }
+        return legacy(file);
+    }
+
+    /**
+     * 低版本退回到 {@link File} 的逐项调用
+     */
+    private static FileStat legacy(File file) {
+        if (file.isFile()) {
+            return new FileStat(true, true, false, file.length(), file.lastModified());
+        }
+        if (file.isDirectory()) {
+            return new FileStat(true, false, true, file.length(), file.lastModified());
+        }
+        return file.exists() ? new FileStat(true, false, false, file.length(), file.lastModified()) : MISSING;
+    }
+
+    /**
+     * 判断路径本身是否为符号链接（不跟随链接）。递归删除时据此避免进入链接指向的目录
+     *
+     * @param file 文件对象
+     * @return true: 是符号链接；false: 不是或无法判断
+     */
+    public static boolean isSymbolicLink(File file) {
+        if (file == null) {
+            return false;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            return Files.isSymbolicLink(file.toPath());
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            try {
+                return OsConstants.S_ISLNK(Os.lstat(file.getPath()).st_mode);
+            } catch (ErrnoException e) {
+                return false;
+            }
+        }
+        // 低版本比较规范路径：父目录规范化后拼接名称与文件自身的规范路径不同即为链接
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent == null) {
+                return false;
+            }
+            File resolved = new File(parent.getCanonicalFile(), file.getName());
+            if (!resolved.getCanonicalFile().equals(resolved.getAbsoluteFile())) {
+                return true;
+            }
+            // 目标不存在的链接无法规范化：自身不存在却仍出现在父目录的列表中即为链接
+            String[] names = resolved.exists() ? null : parent.list();
+            if (names != null) {
+                for (String name : names) {
+                    if (name.equals(file.getName())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 判断文件是否隐藏；Android 上隐藏即文件名以 "." 开头，无需系统调用
+     *
+     * @param file 文件对象
+     * @return true 隐藏，false 否
+     */
+    public static boolean isHidden(File file) {
+        return file.getName().startsWith(".");
+    }
+
+    /**
+     * @return 文件是否存在
+     */
+    public boolean exists() {
+        return exists;
+    }
+
+    /**
+     * @return 是否为普通文件
+     */
+    public boolean isFile() {
+        return isFile;
+    }
+
+    /**
+     * @return 是否为目录
+     */
+    public boolean isDirectory() {
+        return isDirectory;
+    }
+
+    /**
+     * @return 文件大小（字节），不存在时为 0
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @return 最后修改时间（毫秒），不存在时为 0
+     */
+    public long lastModified() {
+        return lastModified;
+    }
+}
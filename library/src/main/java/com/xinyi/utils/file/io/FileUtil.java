@@ -51,7 +51,8 @@ public final class FileUtil {
      * @return true 为目录，false 否
      */
     public static boolean isDir(File file) {
-        return isFileExists(file) && file.isDirectory();
+        // isDirectory() 对不存在的文件返回 false，无需先单独判断存在性
+        return file != null && file.isDirectory();
     }
 
     /**
@@ -71,7 +72,8 @@ public final class FileUtil {
      * @return true 为文件，false 否
      */
     public static boolean isFile(File file) {
-        return isFileExists(file) && file.isFile();
+        // isFile() 对不存在的文件返回 false，无需先单独判断存在性
+        return file != null && file.isFile();
     }
 
     /**
@@ -0,0 +1,184 @@
+package com.xinyi.utils.file.io;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 惰性目录遍历器，按先序深度优先的顺序逐个产出目录下的文件和文件夹（不包含根目录本身）。
+ * <p>
+ * 与一次性构建完整列表不同，遍历过程中只为每一层保存当前目录的子项数组，
+ * 调用方拿到第一个结果前无需遍历整棵树，并可随时停止。
+ * <pre>
+ * for (File file : new FileWalker(dir).maxDepth(2).filter(filter)) { ... }
+ * </pre>
+ *
+ * @author 新一
+ * @since 2025/4/14 10:30
+ */
+public final class FileWalker implements Iterable<File> {
+
+    private final File root;
+    private int maxDepth = Integer.MAX_VALUE;
+    private FileFilter filter;
+    private FileFilter descendFilter;
+
+    /**
+     * @param root 遍历的根目录
+     */
+    public FileWalker(File root) {
+        this.root = root;
+    }
+
+    /**
+     * 设置最大遍历深度，根目录的直接子项深度为 1
+     *
+     * @param maxDepth 最大深度
+     * @return 当前遍历器
+     */
+    public FileWalker maxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * 设置产出过滤器，只有被接受的文件或文件夹才会产出；不影响是否进入子目录
+     *
+     * @param filter 过滤器（为 null 时产出全部）
+     * @return 当前遍历器
+     */
+    public FileWalker filter(FileFilter filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * 设置子目录过滤器，只有被接受的目录才会继续向下遍历
+     *
+     * @param descendFilter 过滤器（为 null 时进入全部子目录）
+     * @return 当前遍历器
+     */
+    public FileWalker descendFilter(FileFilter descendFilter) {
+        this.descendFilter = descendFilter;
+        return this;
+    }
+
+    /**
+     * 以访问者方式遍历，访问者返回 false 时立即停止
+     *
+     * @param visitor 访问者
+     * @return true: 遍历完成；false: 被访问者提前终止
+     */
+    public boolean walk(Visitor visitor) {
+        Walk walk = new Walk();
+        while (walk.hasNext()) {
+            File file = walk.next();
+            if (!visitor.visit(file, walk.depth)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Iterator<File> iterator() {
+        return new Walk();
+    }
+
+    /**
+     * 遍历访问者
+     */
+    public interface Visitor {
+
+        /**
+         * @param file  当前文件或文件夹
+         * @param depth 深度，根目录的直接子项为 1
+         * @return true: 继续遍历；false: 停止遍历
+         */
+        boolean visit(File file, int depth);
+    }
+
+    /**
+     * 一层目录的遍历状态
+     */
+    private static final class Frame {
+        final File[] children;
+        final int depth;
+        int index;
+
+        Frame(File[] children, int depth) {
+            this.children = children;
+            this.depth = depth;
+        }
+    }
+
+    private final class Walk implements Iterator<File> {
+        private final ArrayDeque<Frame> stack = new ArrayDeque<>();
+        private File next;
+        /** 最近一次产出项的深度 */
+        int depth;
+        private int nextDepth;
+
+        Walk() {
+            push(root, 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public File next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            File file = next;
+            depth = nextDepth;
+            next = null;
+            return file;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+
+        private void advance() {
+            while (!stack.isEmpty()) {
+                Frame frame = stack.peek();
+                if (frame.index >= frame.children.length) {
+                    stack.pop();
+                    continue;
+                }
+                File child = frame.children[frame.index];
+                // 释放已遍历项的引用，只保留当前层尚未访问的部分
+                frame.children[frame.index++] = null;
+                if (frame.depth < maxDepth && child.isDirectory()
+                        && (descendFilter == null || descendFilter.accept(child))) {
+                    push(child, frame.depth + 1);
+                }
+                if (filter == null || filter.accept(child)) {
+                    next = child;
+                    nextDepth = frame.depth;
+                    return;
+                }
+            }
+        }
+
+        private void push(File dir, int depth) {
+            if (dir == null || depth > maxDepth) {
+                return;
+            }
+            File[] children = dir.listFiles();
+            if (children != null && children.length > 0) {
+                stack.push(new Frame(children, depth));
+            }
+        }
+    }
+}
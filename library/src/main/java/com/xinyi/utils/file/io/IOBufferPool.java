@@ -0,0 +1,90 @@
+package com.xinyi.utils.file.io;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * IO 缓冲区池，按 64KB、128KB、256KB、512KB、1MB 五个档位复用 byte[]，
+ * 避免每次读写都分配新的缓冲区。每个档位最多缓存固定数量的缓冲区，超出部分交给 GC 回收。
+ *
+ * @author 新一
+ * @since 2025/4/3 09:40
+ */
+public final class IOBufferPool {
+
+    /** 最小缓冲区大小：64KB */
+    public static final int MIN_BUFFER_SIZE = 64 * 1024;
+
+    /** 最大缓冲区大小：1MB */
+    public static final int MAX_BUFFER_SIZE = 1024 * 1024;
+
+    /** 默认缓冲区大小 */
+    public static final int DEFAULT_BUFFER_SIZE = MIN_BUFFER_SIZE;
+
+    /** 每个档位最多缓存的缓冲区数量 */
+    private static final int MAX_POOLED_PER_SIZE = 8;
+
+    /** 各档位的空闲缓冲区队列，下标 i 对应大小 MIN_BUFFER_SIZE << i */
+    private static final ArrayBlockingQueue<?>[] POOLS = new ArrayBlockingQueue<?>[5];
+
+    static {
+        for (int i = 0; i < POOLS.length; i++) {
+            POOLS[i] = new ArrayBlockingQueue<byte[]>(MAX_POOLED_PER_SIZE);
+        }
+    }
+
+    private IOBufferPool() { }
+
+    /**
+     * 获取一个缓冲区，大小会被限制在 [64KB, 1MB] 内并向上取整到 2 的幂
+     *
+     * @param size 期望的缓冲区大小
+     * @return 缓冲区，使用完毕后应通过 {@link #release(byte[])} 归还
+     */
+    public static byte[] acquire(int size) {
+        int index = indexOf(normalize(size));
+        byte[] buffer = pool(index).poll();
+        return buffer != null ? buffer : new byte[MIN_BUFFER_SIZE << index];
+    }
+
+    /**
+     * 归还缓冲区；非本池档位大小的数组或池已满时直接丢弃
+     *
+     * @param buffer 缓冲区
+     */
+    public static void release(byte[] buffer) {
+        if (buffer == null) {
+            return;
+        }
+        int length = buffer.length;
+        if (length < MIN_BUFFER_SIZE || length > MAX_BUFFER_SIZE || Integer.bitCount(length) != 1) {
+            return;
+        }
+        pool(indexOf(length)).offer(buffer);
+    }
+
+    /**
+     * 将缓冲区大小限制在 [64KB, 1MB] 内并向上取整到 2 的幂
+     *
+     * @param size 期望的缓冲区大小
+     * @return 实际使用的缓冲区大小
+     */
+    public static int normalize(int size) {
+        if (size <= MIN_BUFFER_SIZE) {
+            return MIN_BUFFER_SIZE;
+        }
+        if (size >= MAX_BUFFER_SIZE) {
+            return MAX_BUFFER_SIZE;
+        }
+        int highest = Integer.highestOneBit(size);
+        return highest == size ? size : highest << 1;
+    }
+
+    private static int indexOf(int normalizedSize) {
+        return Integer.numberOfTrailingZeros(normalizedSize) - Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArrayBlockingQueue<byte[]> pool(int index) {
+        return (ArrayBlockingQueue<byte[]>) POOLS[index];
+    }
+}
@@ -0,0 +1,127 @@
+package com.xinyi.utils.file.io;
+
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 并行目录大小计算器：基于 fork/join 与工作窃取，每个子目录作为一个子任务并发统计。
+ * <p>
+ * 计算过程中可在任意线程调用 {@link #cancel()} 取消，正在执行的 {@link #calculate(File)}
+ * 会尽快抛出 {@link CancellationException}；在计算开始前调用同样有效。取消状态会一直保留，
+ * 同一实例再次计算前需调用 {@link #reset()}。
+ *
+ * @author 新一
+ * @since 2025/4/16 14:20
+ */
+@RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+public final class ParallelSizeCalculator {
+
+    private final int parallelism;
+    private volatile boolean cancelled;
+
+    /**
+     * @param parallelism 并行度，小于等于 0 时使用 CPU 核心数
+     */
+    public ParallelSizeCalculator(int parallelism) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * 计算文件或目录的总大小（阻塞直到完成）
+     *
+     * @param file 文件或目录
+     * @return 总字节数
+     * @throws CancellationException 计算被取消（包括开始前已调用 {@link #cancel()}）
+     */
+    public long calculate(File file) {
+        checkCancelled();
+        if (file == null) {
+            return 0;
+        }
+        if (!file.isDirectory()) {
+            return file.length();
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new SizeTask(file));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 取消正在进行的计算
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * 清除取消状态，使实例可以再次计算；不要在计算进行中调用
+     */
+    public void reset() {
+        cancelled = false;
+    }
+
+    /**
+     * @return 计算是否已被取消
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("目录大小计算已取消");
+        }
+    }
+
+    private final class SizeTask extends RecursiveTask<Long> {
+
+        private final File dir;
+
+        SizeTask(File dir) {
+            this.dir = dir;
+        }
+
+        @Override
+        protected Long compute() {
+            checkCancelled();
+            File[] files = dir.listFiles();
+            if (files == null) {
+                return 0L;
+            }
+            long size = 0;
+            List<SizeTask> subTasks = null;
+            for (File file : files) {
+                // 单个目录下文件很多时也能及时响应取消
+                checkCancelled();
+                FileStat stat = FileStat.of(file);
+                if (stat.isDirectory()) {
+                    SizeTask task = new SizeTask(file);
+                    task.fork();
+                    if (subTasks == null) {
+                        subTasks = new ArrayList<>();
+                    }
+                    subTasks.add(task);
+                } else {
+                    size += stat.length();
+                }
+            }
+            if (subTasks != null) {
+                for (SizeTask task : subTasks) {
+                    size += task.join();
+                }
+            }
+            return size;
+        }
+    }
+}
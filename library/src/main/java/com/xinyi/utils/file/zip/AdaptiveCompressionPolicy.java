@@ -0,0 +1,86 @@
+package com.xinyi.utils.file.zip;
+
+import com.xinyi.utils.file.io.FileUtil;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * 自适应压缩策略：已压缩格式（图片、音视频、压缩包等）直接存储；
+ * 其他文件先以最快速度试压开头的采样数据，压缩效果不明显时也直接存储，否则使用 DEFLATE。
+ *
+ * @author 新一
+ * @since 2025/4/11 10:20
+ */
+public class AdaptiveCompressionPolicy implements ZipCompressionPolicy {
+
+    /** 默认视为已压缩的扩展名 */
+    private static final String[] DEFAULT_STORED_EXTENSIONS = {
+            "jpg", "jpeg", "png", "gif", "webp", "heic", "heif", "avif",
+            "mp3", "m4a", "aac", "ogg", "opus", "flac",
+            "mp4", "m4v", "mkv", "webm", "avi", "mov", "3gp",
+            "zip", "apk", "aab", "jar", "gz", "tgz", "bz2", "xz", "7z", "rar", "zst", "lz4", "br", "woff2"
+    };
+
+    /** 默认阈值：采样压缩后仍大于原大小的 90% 时视为不可压缩 */
+    private static final float DEFAULT_MAX_RATIO = 0.9f;
+
+    /** 采样数据小于该长度时不做试压，直接使用 DEFLATE */
+    private static final int MIN_SAMPLE_LENGTH = 512;
+
+    private final Set<String> storedExtensions;
+    private final float maxRatio;
+
+    public AdaptiveCompressionPolicy() {
+        this(Arrays.asList(DEFAULT_STORED_EXTENSIONS), DEFAULT_MAX_RATIO);
+    }
+
+    /**
+     * @param storedExtensions 直接存储的扩展名（不含点，不区分大小写）
+     * @param maxRatio         采样压缩比（压缩后 / 压缩前）大于该值时直接存储
+     */
+    public AdaptiveCompressionPolicy(Collection<String> storedExtensions, float maxRatio) {
+        this.storedExtensions = new HashSet<>();
+        for (String extension : storedExtensions) {
+            this.storedExtensions.add(extension.toLowerCase(Locale.ROOT));
+        }
+        this.maxRatio = maxRatio;
+    }
+
+    @Override
+    public int selectMethod(File file, byte[] sample, int sampleLength) {
+        String extension = FileUtil.getExtensionName(file.getName()).toLowerCase(Locale.ROOT);
+        if (storedExtensions.contains(extension)) {
+            return ZipEntry.STORED;
+        }
+        if (sampleLength < MIN_SAMPLE_LENGTH) {
+            return ZipEntry.DEFLATED;
+        }
+        return deflatedLength(sample, sampleLength) > sampleLength * maxRatio ? ZipEntry.STORED : ZipEntry.DEFLATED;
+    }
+
+    /**
+     * 以最快速度压缩采样数据，返回压缩后的长度
+     */
+    private static int deflatedLength(byte[] sample, int sampleLength) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(sample, 0, sampleLength);
+            deflater.finish();
+            byte[] buffer = new byte[8 * 1024];
+            int total = 0;
+            while (!deflater.finished()) {
+                total += deflater.deflate(buffer);
+            }
+            return total;
+        } finally {
+            deflater.end();
+        }
+    }
+}
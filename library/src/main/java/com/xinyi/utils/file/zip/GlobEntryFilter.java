@@ -0,0 +1,75 @@
+package com.xinyi.utils.file.zip;
+
+/**
+ * 基于通配符的 ZIP 条目过滤器，条目名称匹配任一模式即被接受。
+ * <ul>
+ *     <li>{@code ?}：匹配除 "/" 以外的任意单个字符</li>
+ *     <li>{@code *}：匹配除 "/" 以外的任意多个字符</li>
+ *     <li>{@code **}：匹配任意多个字符（可跨目录），{@code **}{@code /} 还可匹配零层目录</li>
+ * </ul>
+ * 例如 {@code new GlobEntryFilter("assets/**", "*.json")}。
+ *
+ * @author 新一
+ * @since 2025/4/25 10:20
+ */
+public final class GlobEntryFilter implements ZipEntryFilter {
+
+    private final String[] patterns;
+
+    /**
+     * @param patterns 通配符模式
+     */
+    public GlobEntryFilter(String... patterns) {
+        this.patterns = patterns.clone();
+    }
+
+    @Override
+    public boolean accept(String name) {
+        for (String pattern : patterns) {
+            if (match(pattern, 0, name, 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean match(String pattern, int pi, String name, int ni) {
+        while (pi < pattern.length()) {
+            char c = pattern.charAt(pi);
+            if (c == '*') {
+                if (pi + 1 < pattern.length() && pattern.charAt(pi + 1) == '*') {
+                    int next = pi + 2;
+                    // "**/" 可以匹配零层目录
+                    if (next < pattern.length() && pattern.charAt(next) == '/' && match(pattern, next + 1, name, ni)) {
+                        return true;
+                    }
+                    for (int i = ni; i <= name.length(); i++) {
+                        if (match(pattern, next, name, i)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+                for (int i = ni; i <= name.length(); i++) {
+                    if (match(pattern, pi + 1, name, i)) {
+                        return true;
+                    }
+                    if (i < name.length() && name.charAt(i) == '/') {
+                        break;
+                    }
+                }
+                return false;
+            }
+            if (ni >= name.length()) {
+                return false;
+            }
+            char n = name.charAt(ni);
+            if (c == '?' ? n == '/' : c != n) {
+                return false;
+            }
+            pi++;
+            ni++;
+        }
+        return ni == name.length();
+    }
+}
@@ -0,0 +1,336 @@
+package com.xinyi.utils.file.zip;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipException;
+
+/**
+ * 基于内存映射的 ZIP 中央目录读取器，适用于条目数量巨大（数十万级）或体积超过 4GB（ZIP64）的压缩包。
+ * <p>
+ * 只映射中央目录，条目以 {@link Cursor} 游标的形式直接读取映射区中的字段，
+ * 遍历过程中不为条目创建任何对象，只有调用 {@link Cursor#getName()} 等方法时才会生成字符串。
+ * 条目数据通过文件通道定位读取，可被多个线程同时读取（每个线程使用各自的游标）。
+ * <pre>
+ * try (MappedZipReader reader = MappedZipReader.open(zipFile)) {
+ *     MappedZipReader.Cursor cursor = reader.cursor();
+ *     while (cursor.next()) {
+ *         long size = cursor.getSize();
+ *     }
+ * }
+ * </pre>
+ * 映射区在读取器关闭后由垃圾回收器释放，关闭后不能再使用游标。
+ *
+ * @author 新一
+ * @since 2025/4/24 10:00
+ */
+public final class MappedZipReader implements Closeable {
+
+    private final FileInputStream input;
+    private final FileChannel channel;
+    private final MappedByteBuffer central;
+    private final int count;
+    private final byte[] archiveComment;
+
+    private MappedZipReader(FileInputStream input) throws IOException {
+        this.input = input;
+        this.channel = input.getChannel();
+        ZipFormat.CentralDirectory dir = ZipFormat.locate(channel);
+        if (dir.size > Integer.MAX_VALUE) {
+            throw new ZipException("中央目录过大: " + dir.size);
+        }
+        if (dir.entryCount > dir.size / ZipFormat.CENTRAL_HEADER_SIZE) {
+            // 每条记录至少 46 字节，声明的条目数放不进中央目录说明文件已损坏
+            throw new ZipException("中央目录条目数无效: " + dir.entryCount);
+        }
+        central = channel.map(FileChannel.MapMode.READ_ONLY, dir.offset, dir.size);
+        central.order(ByteOrder.LITTLE_ENDIAN);
+        count = dir.entryCount;
+        archiveComment = dir.comment;
+    }
+
+    /**
+     * 打开 ZIP 文件并映射其中央目录
+     *
+     * @param zipFile ZIP 文件
+     * @return 读取器
+     * @throws IOException 不是合法的 ZIP 文件或读取失败时抛出异常
+     */
+    public static MappedZipReader open(File zipFile) throws IOException {
+        FileInputStream input = new FileInputStream(zipFile);
+        try {
+            return new MappedZipReader(input);
+        } catch (IOException | RuntimeException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return 条目数
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return ZIP 文件注释；没有注释时返回 null
+     */
+    public String getArchiveComment() {
+        return archiveComment.length == 0 ? null : new String(archiveComment, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 创建一个位于第一个条目之前的游标
+     *
+     * @return 新游标
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * 打开游标当前所指条目的数据流，直接定位到条目的本地文件头读取
+     *
+     * @param cursor 游标
+     * @return 解压后的数据流，使用完毕需关闭
+     * @throws IOException 读取失败或压缩方式不支持时抛出异常
+     */
+    public InputStream openStream(Cursor cursor) throws IOException {
+        return openStream(cursor.getLocalHeaderOffset(), cursor.getCompressedSize(), cursor.getMethod());
+    }
+
+    /**
+     * 按已知的本地文件头偏移打开条目数据流，供 {@link ZipIndex} 使用缓存的字段直接读取
+     */
+    InputStream openStream(long localHeaderOffset, long compressedSize, int method) throws IOException {
+        return ZipFormat.openEntryStream(channel, localHeaderOffset, compressedSize, method);
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /**
+     * 条目游标：可复用的享元视图，字段直接从映射的中央目录中读取
+     */
+    public final class Cursor {
+        /** 当前记录在中央目录中的偏移，-1 表示尚未开始 */
+        private int position = -1;
+        private int nextPosition;
+        /** 从头遍历时已经过的条目数，{@link #seek(int)} 后为 -1（只按映射区边界检查） */
+        private int visited;
+
+        private Cursor() { }
+
+        /**
+         * 移动到下一个条目。从头遍历时最多返回中央目录结束记录中声明的条目数，
+         * 每条记录的长度都会与映射区边界核对，记录损坏时抛出异常而不是越界读取
+         *
+         * @return true: 已移动到下一个条目；false: 没有更多条目
+         * @throws ZipException 中央目录记录无效或条目数与声明不符时抛出异常
+         */
+        public boolean next() throws ZipException {
+            if (visited >= count) {
+                return false;
+            }
+            if (nextPosition >= central.limit()) {
+                if (visited >= 0) {
+                    throw new ZipException("中央目录条目数不足: " + visited + "/" + count);
+                }
+                return false;
+            }
+            int length = checkRecord(nextPosition);
+            position = nextPosition;
+            nextPosition += length;
+            if (visited >= 0) {
+                visited++;
+            }
+            return true;
+        }
+
+        /**
+         * 定位到之前通过 {@link #getPosition()} 记下的条目
+         *
+         * @param position 条目记录偏移
+         * @throws ZipException 偏移处不是完整的中央目录记录时抛出异常
+         */
+        public void seek(int position) throws ZipException {
+            if (position < 0) {
+                throw new ZipException("中央目录记录偏移无效: " + position);
+            }
+            int length = checkRecord(position);
+            this.position = position;
+            this.nextPosition = position + length;
+            this.visited = -1;
+        }
+
+        /**
+         * 回到第一个条目之前
+         */
+        public void reset() {
+            position = -1;
+            nextPosition = 0;
+            visited = 0;
+        }
+
+        /**
+         * @return 当前条目的记录偏移，可用于之后 {@link #seek(int)}
+         */
+        public int getPosition() {
+            checkPosition();
+            return position;
+        }
+
+        /**
+         * @return 当前条目名称（每次调用都会生成新字符串）
+         */
+        public String getName() {
+            checkPosition();
+            return decode(position + ZipFormat.CENTRAL_HEADER_SIZE, getNameLength());
+        }
+
+        /**
+         * @return 当前条目名称的字节长度
+         */
+        public int getNameLength() {
+            checkPosition();
+            return ZipFormat.getUnsignedShort(central, position + ZipFormat.CEN_NAME_LENGTH);
+        }
+
+        /**
+         * 读取当前条目名称（UTF-8 编码）的第 i 个字节，用于无分配的名称比较
+         *
+         * @param i 字节下标
+         * @return 字节值
+         */
+        public byte getNameByte(int i) {
+            checkPosition();
+            return central.get(position + ZipFormat.CENTRAL_HEADER_SIZE + i);
+        }
+
+        /**
+         * 比较当前条目名称与给定的 UTF-8 字节，不创建字符串
+         *
+         * @param name 名称的 UTF-8 字节
+         * @return 是否相同
+         */
+        public boolean nameEquals(byte[] name) {
+            int length = getNameLength();
+            if (length != name.length) {
+                return false;
+            }
+            int start = position + ZipFormat.CENTRAL_HEADER_SIZE;
+            for (int i = 0; i < length; i++) {
+                if (central.get(start + i) != name[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return 当前条目注释；没有注释时返回 null
+         */
+        public String getComment() {
+            checkPosition();
+            int length = ZipFormat.getUnsignedShort(central, position + ZipFormat.CEN_COMMENT_LENGTH);
+            if (length == 0) {
+                return null;
+            }
+            int start = position + ZipFormat.CENTRAL_HEADER_SIZE + getNameLength()
+                    + ZipFormat.getUnsignedShort(central, position + ZipFormat.CEN_EXTRA_LENGTH);
+            return decode(start, length);
+        }
+
+        /**
+         * @return 当前条目是否为目录
+         */
+        public boolean isDirectory() {
+            int length = getNameLength();
+            return length > 0 && getNameByte(length - 1) == '/';
+        }
+
+        /**
+         * @return 解压后大小
+         * @throws ZipException ZIP64 扩展信息缺失时抛出异常
+         */
+        public long getSize() throws ZipException {
+            checkPosition();
+            return ZipFormat.cenSize(central, position);
+        }
+
+        /**
+         * @return 压缩后大小
+         * @throws ZipException ZIP64 扩展信息缺失时抛出异常
+         */
+        public long getCompressedSize() throws ZipException {
+            checkPosition();
+            return ZipFormat.cenCompressedSize(central, position);
+        }
+
+        /**
+         * @return 本地文件头偏移量
+         * @throws ZipException ZIP64 扩展信息缺失时抛出异常
+         */
+        public long getLocalHeaderOffset() throws ZipException {
+            checkPosition();
+            return ZipFormat.cenLocalHeaderOffset(central, position);
+        }
+
+        /**
+         * @return CRC-32 校验值
+         */
+        public long getCrc() {
+            checkPosition();
+            return ZipFormat.getUnsignedInt(central, position + ZipFormat.CEN_CRC);
+        }
+
+        /**
+         * @return 压缩方式（{@link java.util.zip.ZipEntry#STORED} 或 {@link java.util.zip.ZipEntry#DEFLATED}）
+         */
+        public int getMethod() {
+            checkPosition();
+            return ZipFormat.getUnsignedShort(central, position + ZipFormat.CEN_METHOD);
+        }
+
+        private void checkPosition() {
+            if (position < 0) {
+                throw new IllegalStateException("游标未指向任何条目，请先调用 next()");
+            }
+        }
+    }
+
+    /**
+     * 检查偏移处是一条完整落在映射区内的中央目录记录
+     *
+     * @return 记录长度
+     */
+    private int checkRecord(int position) throws ZipException {
+        int limit = central.limit();
+        if (position > limit - ZipFormat.CENTRAL_HEADER_SIZE
+                || central.getInt(position) != ZipFormat.CENTRAL_HEADER_SIGNATURE) {
+            throw new ZipException("中央目录记录无效: " + position);
+        }
+        int length = ZipFormat.cenRecordLength(central, position);
+        if (length > limit - position) {
+            throw new ZipException("中央目录记录越界: " + position);
+        }
+        return length;
+    }
+
+    private String decode(int start, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = central.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
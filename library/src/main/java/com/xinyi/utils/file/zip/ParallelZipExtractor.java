@@ -0,0 +1,211 @@
+package com.xinyi.utils.file.zip;
+
+import com.xinyi.utils.file.io.IOBufferPool;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 并行 ZIP 解压器：先一次性创建全部目录，再把文件条目按大小均衡地分给多个工作线程。
+ * 条目来自 {@link ZipExtractPlan}，名称已在解压前完成校验；
+ * 各线程共用同一个 {@link MappedZipReader}，通过文件通道定位读取，互不争用读取位置。
+ * <p>
+ * 任一线程失败时其余线程在当前条目写完后停止，写了一半的文件会被删除；
+ * 解压器始终等全部工作线程退出后才返回，且从不中断工作线程（中断通道读取会关闭共用的通道）。
+ *
+ * @author 新一
+ * @since 2025/4/10 16:30
+ */
+final class ParallelZipExtractor {
+
+    /** 每个工作线程使用的解压缓冲区大小 */
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final int threadCount;
+
+    /**
+     * @param threadCount 解压线程数
+     */
+    ParallelZipExtractor(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * 解压 ZIP 文件到指定目录
+     *
+     * @param zipFile ZIP 文件
+     * @param destDir 目标解压目录
+     * @return {@code true}：解压成功；{@code false}：解压失败
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    boolean extract(File zipFile, File destDir) throws IOException {
+        try (MappedZipReader reader = MappedZipReader.open(zipFile)) {
+            return extract(reader, ZipExtractPlan.create(reader, destDir, null));
+        }
+    }
+
+    /**
+     * 按解压计划解压
+     *
+     * @param reader ZIP 读取器
+     * @param plan   解压计划
+     * @return {@code true}：解压成功；{@code false}：解压失败
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    boolean extract(MappedZipReader reader, ZipExtractPlan plan) throws IOException {
+        // 目录骨架只创建一次，工作线程中不再检查父目录
+        if (!plan.createDirectories()) {
+            return false;
+        }
+        if (plan.fileCount() == 0) {
+            return true;
+        }
+
+        int[][] partitions = partition(plan);
+        AtomicBoolean aborted = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(partitions.length);
+        List<Future<Boolean>> futures = new ArrayList<>(partitions.length);
+        try {
+            for (int[] partition : partitions) {
+                futures.add(executor.submit(new ExtractTask(reader, plan, partition, aborted)));
+            }
+        } finally {
+            // 不使用 shutdownNow：中断正在读取的线程会关闭共用的文件通道
+            executor.shutdown();
+        }
+        // 必须等所有工作线程结束后才能返回，否则调用方关闭读取器时仍有线程在读取和写出
+        IOException failure = null;
+        boolean result = true;
+        boolean interrupted = false;
+        for (Future<Boolean> future : futures) {
+            while (true) {
+                try {
+                    result &= future.get();
+                    break;
+                } catch (ExecutionException e) {
+                    // 通知其余线程在当前条目写完后停止
+                    aborted.set(true);
+                    if (failure == null) {
+                        failure = toIOException(e.getCause());
+                    }
+                    break;
+                } catch (InterruptedException e) {
+                    aborted.set(true);
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            if (failure == null) {
+                failure = new InterruptedIOException("解压被中断");
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return result;
+    }
+
+    /**
+     * 按解压后大小从大到小依次分给当前负载最小的线程，使各线程工作量接近
+     *
+     * @return 每个线程分到的文件条目序号
+     */
+    private int[][] partition(final ZipExtractPlan plan) {
+        int fileCount = plan.fileCount();
+        Integer[] order = new Integer[fileCount];
+        for (int i = 0; i < fileCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return Long.compare(plan.size(b), plan.size(a));
+            }
+        });
+        int count = Math.min(threadCount, fileCount);
+        int[] owners = new int[fileCount];
+        int[] counts = new int[count];
+        long[] loads = new long[count];
+        for (int i : order) {
+            int target = 0;
+            for (int t = 1; t < count; t++) {
+                if (loads[t] < loads[target]) {
+                    target = t;
+                }
+            }
+            owners[i] = target;
+            counts[target]++;
+            // 空文件按 1 计，避免全部落在同一个线程上
+            loads[target] += Math.max(1, plan.size(i));
+        }
+        int[][] partitions = new int[count][];
+        for (int t = 0; t < count; t++) {
+            partitions[t] = new int[counts[t]];
+            counts[t] = 0;
+        }
+        for (int i : order) {
+            int target = owners[i];
+            partitions[target][counts[target]++] = i;
+        }
+        return partitions;
+    }
+
+    private static IOException toIOException(Throwable cause) {
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        return new IOException("解压失败: " + cause, cause);
+    }
+
+    /**
+     * 解压任务：使用独立的游标和缓冲区解压分配到的条目
+     */
+    private static final class ExtractTask implements Callable<Boolean> {
+        private final MappedZipReader reader;
+        private final ZipExtractPlan plan;
+        private final int[] files;
+        private final AtomicBoolean aborted;
+
+        ExtractTask(MappedZipReader reader, ZipExtractPlan plan, int[] files, AtomicBoolean aborted) {
+            this.reader = reader;
+            this.plan = plan;
+            this.files = files;
+            this.aborted = aborted;
+        }
+
+        @Override
+        public Boolean call() throws IOException {
+            byte[] buffer = IOBufferPool.acquire(BUFFER_SIZE);
+            MappedZipReader.Cursor cursor = reader.cursor();
+            try {
+                for (int file : files) {
+                    if (aborted.get()) {
+                        return false;
+                    }
+                    try {
+                        plan.extract(reader, cursor, file, buffer);
+                    } catch (IOException | RuntimeException e) {
+                        aborted.set(true);
+                        throw e;
+                    }
+                }
+                return true;
+            } finally {
+                IOBufferPool.release(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,559 @@
+package com.xinyi.utils.file.zip;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * 并行 ZIP 写入器：在线程池中将各条目（大文件按块）压缩为独立的 DEFLATE 数据，
+ * 再由调用线程按原顺序拼接成标准 ZIP 文件。
+ * <p>
+ * 每个文件的压缩方式由 {@link ZipCompressionPolicy} 决定；小文件整体作为一个压缩任务；大文件按 {@link #CHUNK_SIZE} 切块，每块以前一块末尾 32KB 作为预设字典压缩，
+ * 非末块以 SYNC_FLUSH 结束，拼接后仍是一个合法的 DEFLATE 流（与 pigz 的做法相同）。
+ * 为控制内存，同时在途的任务数有上限。不支持 ZIP64，超出 ZIP 32 位限制的输入应走串行压缩。
+ *
+ * @author 新一
+ * @since 2025/4/9 10:15
+ */
+final class ParallelZipWriter {
+
+    /** 大文件切块大小，同时也是"小文件"的判定阈值 */
+    static final int CHUNK_SIZE = 1024 * 1024;
+
+    /** DEFLATE 预设字典大小（滑动窗口大小） */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    /** 标准 ZIP（非 ZIP64）中大小、偏移量的上限 */
+    static final long ZIP32_LIMIT = 0xFFFFFFFFL;
+
+    /** 标准 ZIP（非 ZIP64）中条目数的上限 */
+    static final int ZIP32_MAX_ENTRIES = 0xFFFF;
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIR_SIGNATURE = 0x06054b50;
+
+    /** 通用标记位 11：文件名与注释使用 UTF-8 编码 */
+    private static final int FLAG_UTF8 = 0x0800;
+
+    /** 解压所需的最低版本：2.0（支持 DEFLATE 和目录） */
+    private static final int VERSION_NEEDED = 20;
+
+    private final int threadCount;
+    private final int maxInFlight;
+    private final ZipCompressionPolicy policy;
+
+    /**
+     * @param threadCount 压缩线程数
+     * @param policy      压缩方式选择策略，为 null 时全部使用 DEFLATE
+     */
+    ParallelZipWriter(int threadCount, ZipCompressionPolicy policy) {
+        this.threadCount = threadCount;
+        this.maxInFlight = threadCount * 4;
+        this.policy = policy != null ? policy : ZipCompressionPolicy.ALWAYS_DEFLATE;
+    }
+
+    /**
+     * 收集待压缩的条目，条目命名规则与 {@link StandardZipUtil#zipFiles(Collection, File, String)} 一致
+     *
+     * @param resFiles 待压缩的文件或目录集合
+     * @return 按写入顺序排列的条目
+     */
+    static List<Source> collect(Collection<File> resFiles) {
+        List<Source> sources = new ArrayList<>();
+        for (File resFile : resFiles) {
+            collect(resFile, "", sources);
+        }
+        return sources;
+    }
+
+    private static void collect(File resFile, String rootPath, List<Source> sources) {
+        String currentPath = rootPath + (rootPath.isEmpty() ? "" : File.separator) + resFile.getName();
+        if (resFile.isDirectory()) {
+            File[] fileList = resFile.listFiles();
+            if (fileList == null || fileList.length == 0) {
+                // 空文件夹：添加一个目录条目
+                sources.add(new Source(resFile, currentPath + "/", true));
+            } else {
+                for (File file : fileList) {
+                    collect(file, currentPath, sources);
+                }
+            }
+        } else {
+            sources.add(new Source(resFile, currentPath, false));
+        }
+    }
+
+    /**
+     * 将条目写入 ZIP 文件
+     *
+     * @param sources 由 {@link #collect(Collection)} 收集的条目
+     * @param zipFile 生成的 ZIP 文件
+     * @param comment 每个条目的注释（可为 null 或空字符串）
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    void write(List<Source> sources, File zipFile, String comment) throws IOException {
+        byte[] commentBytes = comment == null || comment.isEmpty()
+                ? new byte[0] : comment.getBytes(StandardCharsets.UTF_8);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        FileOutputStream fos = new FileOutputStream(zipFile);
+        try {
+            Output out = new Output(fos);
+            ArrayDeque<Pending> pending = new ArrayDeque<>();
+            List<CentralEntry> centralEntries = new ArrayList<>(sources.size());
+            for (Source source : sources) {
+                CentralEntry entry = new CentralEntry(source.name.getBytes(StandardCharsets.UTF_8),
+                        commentBytes, dosTime(source.file.lastModified()));
+                centralEntries.add(entry);
+                if (source.isDirectory) {
+                    entry.method = ZipEntry.STORED;
+                    pending.add(new Pending(entry, null, false, true, true));
+                    continue;
+                }
+                long length = source.file.length();
+                if (length <= CHUNK_SIZE) {
+                    submit(pending, out, new Pending(entry, executor.submit(new WholeFileTask(source.file, policy)), false, true, true));
+                } else {
+                    submitChunks(executor, pending, out, entry, source.file);
+                }
+            }
+            while (!pending.isEmpty()) {
+                writePending(pending.poll(), out);
+            }
+            writeCentralDirectory(centralEntries, out);
+            out.flush();
+        } finally {
+            executor.shutdownNow();
+            fos.close();
+        }
+    }
+
+    /**
+     * 由调用线程顺序读取大文件并计算 CRC，各块的压缩交给线程池
+     */
+    private void submitChunks(ExecutorService executor, ArrayDeque<Pending> pending, Output out,
+                              CentralEntry entry, File file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] dictionary = null;
+        boolean first = true;
+        try (InputStream is = new FileInputStream(file)) {
+            byte[] chunk = readChunk(is);
+            // 以第一块开头的数据作为采样决定整个文件的压缩方式
+            entry.method = chunk == null ? ZipEntry.DEFLATED
+                    : policy.selectMethod(file, chunk, Math.min(chunk.length, ZipCompressionPolicy.SAMPLE_SIZE));
+            boolean stored = entry.method == ZipEntry.STORED;
+            while (chunk != null) {
+                byte[] next = readChunk(is);
+                crc.update(chunk, 0, chunk.length);
+                entry.size += chunk.length;
+                boolean last = next == null;
+                if (last) {
+                    entry.crc = crc.getValue();
+                }
+                Future<Compressed> future = executor.submit(new ChunkTask(chunk, dictionary, last, stored));
+                submit(pending, out, new Pending(entry, future, true, first, last));
+                dictionary = tail(chunk);
+                chunk = next;
+                first = false;
+            }
+        }
+    }
+
+    /**
+     * 加入等待队列；在途任务过多时先写出队首，限制内存占用
+     */
+    private void submit(ArrayDeque<Pending> pending, Output out, Pending item) throws IOException {
+        pending.add(item);
+        while (pending.size() > maxInFlight) {
+            writePending(pending.poll(), out);
+        }
+    }
+
+    private void writePending(Pending item, Output out) throws IOException {
+        CentralEntry entry = item.entry;
+        if (item.future == null) {
+            // 目录条目：没有数据
+            entry.localHeaderOffset = out.position;
+            writeLocalHeader(entry, out);
+            return;
+        }
+        Compressed compressed = await(item.future);
+        int dataSize = compressed.length;
+        if (item.first) {
+            entry.localHeaderOffset = out.position;
+            if (item.last) {
+                // 只有一块：大小均已知，直接写入本地文件头；分块时 CRC 和原始大小已由调用线程算好
+                if (!item.chunked) {
+                    entry.method = compressed.method;
+                    entry.crc = compressed.crc;
+                    entry.size = compressed.uncompressedSize;
+                }
+                entry.compressedSize = dataSize;
+            }
+            writeLocalHeader(entry, out);
+        }
+        out.write(compressed.data, 0, dataSize);
+        out.position += dataSize;
+        if (!item.first || !item.last) {
+            entry.compressedSize += dataSize;
+            if (item.last) {
+                // 分块压缩：全部数据写完后回填本地文件头中的 CRC 和大小
+                out.patchLocalHeader(entry);
+            }
+        }
+        if (out.position > ZIP32_LIMIT) {
+            throw new IOException("ZIP 文件超出 4GB 限制，请使用串行压缩");
+        }
+    }
+
+    private static Compressed await(Future<Compressed> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("压缩失败: " + cause, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("压缩被中断", e);
+        }
+    }
+
+    private static void writeLocalHeader(CentralEntry entry, Output out) throws IOException {
+        ByteBuffer header = newBuffer(30 + entry.name.length);
+        header.putInt(LOCAL_HEADER_SIGNATURE);
+        header.putShort((short) VERSION_NEEDED);
+        header.putShort((short) FLAG_UTF8);
+        header.putShort((short) entry.method);
+        header.putInt((int) entry.dosTime);
+        header.putInt((int) entry.crc);
+        header.putInt((int) entry.compressedSize);
+        header.putInt((int) entry.size);
+        header.putShort((short) entry.name.length);
+        header.putShort((short) 0);
+        header.put(entry.name);
+        out.write(header);
+    }
+
+    private static void writeCentralDirectory(List<CentralEntry> entries, Output out) throws IOException {
+        long start = out.position;
+        for (CentralEntry entry : entries) {
+            ByteBuffer header = newBuffer(46 + entry.name.length + entry.comment.length);
+            header.putInt(CENTRAL_HEADER_SIGNATURE);
+            header.putShort((short) VERSION_NEEDED);
+            header.putShort((short) VERSION_NEEDED);
+            header.putShort((short) FLAG_UTF8);
+            header.putShort((short) entry.method);
+            header.putInt((int) entry.dosTime);
+            header.putInt((int) entry.crc);
+            header.putInt((int) entry.compressedSize);
+            header.putInt((int) entry.size);
+            header.putShort((short) entry.name.length);
+            header.putShort((short) 0);
+            header.putShort((short) entry.comment.length);
+            header.putShort((short) 0);
+            header.putShort((short) 0);
+            header.putInt(0);
+            header.putInt((int) entry.localHeaderOffset);
+            header.put(entry.name);
+            header.put(entry.comment);
+            out.write(header);
+        }
+        long size = out.position - start;
+        if (out.position > ZIP32_LIMIT) {
+            throw new IOException("ZIP 文件超出 4GB 限制，请使用串行压缩");
+        }
+        ByteBuffer end = newBuffer(22);
+        end.putInt(END_OF_CENTRAL_DIR_SIGNATURE);
+        end.putShort((short) 0);
+        end.putShort((short) 0);
+        end.putShort((short) entries.size());
+        end.putShort((short) entries.size());
+        end.putInt((int) size);
+        end.putInt((int) start);
+        end.putShort((short) 0);
+        out.write(end);
+    }
+
+    private static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 读取下一块数据，文件结束时返回 null
+     */
+    private static byte[] readChunk(InputStream is) throws IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int total = 0;
+        int len;
+        while (total < CHUNK_SIZE && (len = is.read(chunk, total, CHUNK_SIZE - total)) != -1) {
+            total += len;
+        }
+        if (total == 0) {
+            return null;
+        }
+        if (total < CHUNK_SIZE) {
+            byte[] trimmed = new byte[total];
+            System.arraycopy(chunk, 0, trimmed, 0, total);
+            return trimmed;
+        }
+        return chunk;
+    }
+
+    private static byte[] tail(byte[] chunk) {
+        int length = Math.min(DICTIONARY_SIZE, chunk.length);
+        byte[] dictionary = new byte[length];
+        System.arraycopy(chunk, chunk.length - length, dictionary, 0, length);
+        return dictionary;
+    }
+
+    /**
+     * 将 Java 时间戳转换为 MS-DOS 日期时间格式
+     */
+    private static long dosTime(long time) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        int year = calendar.get(Calendar.YEAR);
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return ((long) (year - 1980) << 25)
+                | ((calendar.get(Calendar.MONTH) + 1) << 21)
+                | (calendar.get(Calendar.DAY_OF_MONTH) << 16)
+                | (calendar.get(Calendar.HOUR_OF_DAY) << 11)
+                | (calendar.get(Calendar.MINUTE) << 5)
+                | (calendar.get(Calendar.SECOND) >> 1);
+    }
+
+    /**
+     * 将数据压缩为原始 DEFLATE 流（无 zlib 头）
+     *
+     * @param data 待压缩数据
+     * @param dictionary 预设字典（可为 null）
+     * @param finish true: 结束整个 DEFLATE 流；false: 以 SYNC_FLUSH 结束，后续可继续拼接
+     */
+    private static Compressed deflate(byte[] data, byte[] dictionary, boolean finish) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(data);
+            DeflatedBuffer out = new DeflatedBuffer(Math.max(64, data.length / 2));
+            byte[] buffer = new byte[64 * 1024];
+            if (finish) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int len = deflater.deflate(buffer);
+                    out.write(buffer, 0, len);
+                }
+            } else {
+                int len;
+                do {
+                    len = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    out.write(buffer, 0, len);
+                } while (len == buffer.length);
+            }
+            return new Compressed(out.array(), out.size(), ZipEntry.DEFLATED);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 待写入的文件或目录
+     */
+    static final class Source {
+        final File file;
+        final String name;
+        final boolean isDirectory;
+
+        Source(File file, String name, boolean isDirectory) {
+            this.file = file;
+            this.name = name;
+            this.isDirectory = isDirectory;
+        }
+    }
+
+    /**
+     * 中央目录记录所需的条目信息
+     */
+    private static final class CentralEntry {
+        final byte[] name;
+        final byte[] comment;
+        final long dosTime;
+        int method;
+        long crc;
+        long size;
+        long compressedSize;
+        long localHeaderOffset;
+
+        CentralEntry(byte[] name, byte[] comment, long dosTime) {
+            this.name = name;
+            this.comment = comment;
+            this.dosTime = dosTime;
+        }
+    }
+
+    /**
+     * 等待按顺序写出的压缩结果
+     */
+    private static final class Pending {
+        final CentralEntry entry;
+        final Future<Compressed> future;
+        /** 是否为大文件分块压缩（CRC 和原始大小由调用线程计算） */
+        final boolean chunked;
+        /** 是否为条目的第一块（需要写本地文件头） */
+        final boolean first;
+        /** 是否为条目的最后一块 */
+        final boolean last;
+
+        Pending(CentralEntry entry, Future<Compressed> future, boolean chunked, boolean first, boolean last) {
+            this.entry = entry;
+            this.future = future;
+            this.chunked = chunked;
+            this.first = first;
+            this.last = last;
+        }
+    }
+
+    /**
+     * 压缩结果；STORED 时 data 即原始数据
+     */
+    private static final class Compressed {
+        final byte[] data;
+        final int length;
+        final int method;
+        long crc;
+        long uncompressedSize;
+
+        Compressed(byte[] data, int length, int method) {
+            this.data = data;
+            this.length = length;
+            this.method = method;
+        }
+    }
+
+    /**
+     * 可直接访问内部数组的 ByteArrayOutputStream，避免 toByteArray() 再复制一次
+     */
+    private static final class DeflatedBuffer extends ByteArrayOutputStream {
+        DeflatedBuffer(int size) {
+            super(size);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+
+    /**
+     * 小文件任务：在工作线程中读取整个文件、计算 CRC 并压缩
+     */
+    private static final class WholeFileTask implements Callable<Compressed> {
+        private final File file;
+        private final ZipCompressionPolicy policy;
+
+        WholeFileTask(File file, ZipCompressionPolicy policy) {
+            this.file = file;
+            this.policy = policy;
+        }
+
+        @Override
+        public Compressed call() throws IOException {
+            byte[] data;
+            try (InputStream is = new FileInputStream(file)) {
+                data = readChunk(is);
+            }
+            if (data == null) {
+                data = new byte[0];
+            }
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, data.length);
+            int sampleLength = Math.min(data.length, ZipCompressionPolicy.SAMPLE_SIZE);
+            Compressed compressed = policy.selectMethod(file, data, sampleLength) == ZipEntry.STORED
+                    ? new Compressed(data, data.length, ZipEntry.STORED) : deflate(data, null, true);
+            compressed.crc = crc.getValue();
+            compressed.uncompressedSize = data.length;
+            return compressed;
+        }
+    }
+
+    /**
+     * 大文件分块任务：CRC 由调用线程计算，这里只负责压缩（STORED 时原样输出）
+     */
+    private static final class ChunkTask implements Callable<Compressed> {
+        private final byte[] chunk;
+        private final byte[] dictionary;
+        private final boolean last;
+        private final boolean stored;
+
+        ChunkTask(byte[] chunk, byte[] dictionary, boolean last, boolean stored) {
+            this.chunk = chunk;
+            this.dictionary = dictionary;
+            this.last = last;
+            this.stored = stored;
+        }
+
+        @Override
+        public Compressed call() {
+            return stored ? new Compressed(chunk, chunk.length, ZipEntry.STORED) : deflate(chunk, dictionary, last);
+        }
+    }
+
+    /**
+     * 带写入位置计数的输出流，支持回填已写出的本地文件头
+     */
+    private static final class Output extends BufferedOutputStream {
+        private final FileOutputStream fos;
+        long position;
+
+        Output(FileOutputStream fos) {
+            super(fos, 256 * 1024);
+            this.fos = fos;
+        }
+
+        void write(ByteBuffer buffer) throws IOException {
+            write(buffer.array(), 0, buffer.position());
+            position += buffer.position();
+        }
+
+        /**
+         * 回填本地文件头中偏移 14 处的 CRC、压缩后大小和原始大小
+         */
+        void patchLocalHeader(CentralEntry entry) throws IOException {
+            flush();
+            ByteBuffer patch = newBuffer(12);
+            patch.putInt((int) entry.crc);
+            patch.putInt((int) entry.compressedSize);
+            patch.putInt((int) entry.size);
+            patch.flip();
+            long offset = entry.localHeaderOffset + 14;
+            while (patch.hasRemaining()) {
+                offset += fos.getChannel().write(patch, offset);
+            }
+        }
+    }
+}
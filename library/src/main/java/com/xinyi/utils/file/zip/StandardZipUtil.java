@@ -2,19 +2,25 @@ package com.xinyi.utils.file.zip;
 
 import android.util.Log;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import com.xinyi.utils.file.io.IOBufferPool;
+
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
@@ -27,6 +33,12 @@ import java.util.zip.ZipOutputStream;
  */
 public class StandardZipUtil {
 
+    /** 并行压缩的最小输入总量，小于该值时直接串行压缩 */
+    private static final long PARALLEL_ZIP_MIN_SIZE = 1024 * 1024;
+
+    /** 并行压缩的最大输入总量，预留 DEFLATE 膨胀和文件头的余量，避免超出 ZIP 32 位限制 */
+    private static final long PARALLEL_ZIP_MAX_SIZE = 0xF0000000L;
+
     /**
      * 批量压缩多个文件或目录到一个 ZIP 文件中
      *
@@ -37,25 +49,87 @@ public class StandardZipUtil {
      * @throws IOException 当 IO 出错时抛出异常
      */
     public static boolean zipFiles(Collection<File> resFiles, File zipFile, String comment) throws IOException {
+        return zipFiles(resFiles, zipFile, comment, (ZipCompressionPolicy) null);
+    }
+
+    /**
+     * 批量压缩多个文件或目录到一个 ZIP 文件中，并按策略为每个文件选择存储或压缩
+     *
+     * @param resFiles    待压缩的文件或目录集合
+     * @param zipFile     生成的 ZIP 文件
+     * @param comment     ZIP 文件的注释（可为 null 或空字符串）
+     * @param policy      压缩方式选择策略（例如 {@link AdaptiveCompressionPolicy}），为 null 时全部使用 DEFLATE
+     * @return {@code true}：压缩成功；{@code false}：压缩失败
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    public static boolean zipFiles(Collection<File> resFiles, File zipFile, String comment,
+                                   ZipCompressionPolicy policy) throws IOException {
         if (resFiles == null || zipFile == null) {
             return false;
         }
-        ZipOutputStream zos = null;
-        try {
-            zos = new ZipOutputStream(new FileOutputStream(zipFile));
+        try (SerialZipWriter writer = new SerialZipWriter(zipFile, comment, policy)) {
             // 遍历集合中的每个文件或目录
             for (File resFile : resFiles) {
-                if (!zipFile(resFile, "", zos, comment)) {
+                if (!zipFile(resFile, "", writer)) {
                     return false;
                 }
             }
             return true;
-        } finally {
-            if (zos != null) {
-                zos.finish();
-                closeIO(zos);
+        }
+    }
+
+    /**
+     * 批量并行压缩多个文件或目录到一个 ZIP 文件中。
+     * 各条目（大文件按块）在线程池中并行压缩，再按顺序拼接成标准 ZIP 文件；
+     * 线程数不大于 1、输入总量过小或超出 ZIP 32 位限制时退回到串行压缩。
+     *
+     * @param resFiles    待压缩的文件或目录集合
+     * @param zipFile     生成的 ZIP 文件
+     * @param comment     ZIP 文件的注释（可为 null 或空字符串）
+     * @param threadCount 压缩线程数
+     * @return {@code true}：压缩成功；{@code false}：压缩失败
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    public static boolean zipFiles(Collection<File> resFiles, File zipFile, String comment, int threadCount) throws IOException {
+        return zipFiles(resFiles, zipFile, comment, threadCount, null);
+    }
+
+    /**
+     * 批量并行压缩多个文件或目录到一个 ZIP 文件中，并按策略为每个文件选择存储或压缩
+     *
+     * @param resFiles    待压缩的文件或目录集合
+     * @param zipFile     生成的 ZIP 文件
+     * @param comment     ZIP 文件的注释（可为 null 或空字符串）
+     * @param threadCount 压缩线程数
+     * @param policy      压缩方式选择策略，为 null 时全部使用 DEFLATE
+     * @return {@code true}：压缩成功；{@code false}：压缩失败
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    public static boolean zipFiles(Collection<File> resFiles, File zipFile, String comment, int threadCount,
+                                   ZipCompressionPolicy policy) throws IOException {
+        if (resFiles == null || zipFile == null) {
+            return false;
+        }
+        if (threadCount <= 1) {
+            return zipFiles(resFiles, zipFile, comment, policy);
+        }
+        List<ParallelZipWriter.Source> sources = ParallelZipWriter.collect(resFiles);
+        long totalSize = 0;
+        for (ParallelZipWriter.Source source : sources) {
+            // 目录条目没有数据，其 length() 随文件系统而定，不计入输入总量
+            if (!source.isDirectory) {
+                totalSize += source.file.length();
             }
         }
+        // 输入过小时线程调度的开销大于收益；超过 4GB 或 65535 个条目需要 ZIP64，由 ZipOutputStream 处理
+        if (totalSize < PARALLEL_ZIP_MIN_SIZE || totalSize >= PARALLEL_ZIP_MAX_SIZE
+                || sources.size() >= ParallelZipWriter.ZIP32_MAX_ENTRIES) {
+            // 直接串行写入已收集的条目，无需再遍历一次目录树
+            zipSources(sources, zipFile, comment, policy);
+            return true;
+        }
+        new ParallelZipWriter(threadCount, policy).write(sources, zipFile, comment);
+        return true;
     }
 
     /**
@@ -80,18 +154,25 @@ public class StandardZipUtil {
      * @throws IOException 当 IO 出错时抛出异常
      */
     public static boolean zipFile(File resFile, File zipFile, String comment) throws IOException {
+        return zipFile(resFile, zipFile, comment, null);
+    }
+
+    /**
+     * 压缩单个文件或目录到 ZIP 文件中，并按策略为每个文件选择存储或压缩
+     *
+     * @param resFile 待压缩的文件或目录
+     * @param zipFile 生成的 ZIP 文件
+     * @param comment ZIP 文件的注释（可为 null 或空字符串）
+     * @param policy  压缩方式选择策略（例如 {@link AdaptiveCompressionPolicy}），为 null 时全部使用 DEFLATE
+     * @return {@code true}：压缩成功；{@code false}：压缩失败
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    public static boolean zipFile(File resFile, File zipFile, String comment, ZipCompressionPolicy policy) throws IOException {
         if (resFile == null || zipFile == null) {
             return false;
         }
-        ZipOutputStream zos = null;
-        try {
-            zos = new ZipOutputStream(new FileOutputStream(zipFile));
-            return zipFile(resFile, "", zos, comment);
-        } finally {
-            if (zos != null) {
-                zos.finish();
-                closeIO(zos);
-            }
+        try (SerialZipWriter writer = new SerialZipWriter(zipFile, comment, policy)) {
+            return zipFile(resFile, "", writer);
         }
     }
 
@@ -108,56 +189,70 @@ public class StandardZipUtil {
     }
 
     /**
-     * 递归压缩文件或目录到指定的 ZipOutputStream 中
+     * 递归压缩文件或目录
      *
      * @param resFile  待压缩的文件或目录
      * @param rootPath 相对于 ZIP 根目录的路径
-     * @param zos      Zip 输出流
-     * @param comment  ZIP 文件注释（可为 null或空字符串）
+     * @param writer   串行写入器
      * @return {@code true}：压缩成功；{@code false}：压缩失败
      * @throws IOException 当 IO 出错时抛出异常
      */
-    private static boolean zipFile(File resFile, String rootPath, ZipOutputStream zos, String comment) throws IOException {
+    private static boolean zipFile(File resFile, String rootPath, SerialZipWriter writer) throws IOException {
         // 更新当前路径
         String currentPath = rootPath + (rootPath.isEmpty() ? "" : File.separator) + resFile.getName();
         if (resFile.isDirectory()) {
             File[] fileList = resFile.listFiles();
             if (fileList == null || fileList.length == 0) {
                 // 空文件夹：添加一个目录条目
-                ZipEntry entry = new ZipEntry(currentPath + "/");
-                if (comment != null && !comment.isEmpty()) {
-                    entry.setComment(comment);
-                }
-                zos.putNextEntry(entry);
-                zos.closeEntry();
+                writer.putDirectory(currentPath + "/");
             } else {
                 // 遍历子文件或目录
                 for (File file : fileList) {
-                    if (!zipFile(file, currentPath, zos, comment)) {
+                    if (!zipFile(file, currentPath, writer)) {
                         return false;
                     }
                 }
             }
         } else {
-            InputStream is = null;
-            try {
-                is = new BufferedInputStream(new FileInputStream(resFile));
-                ZipEntry entry = new ZipEntry(currentPath);
-                if (comment != null && !comment.isEmpty()) {
-                    entry.setComment(comment);
-                }
-                zos.putNextEntry(entry);
-                byte[] buffer = new byte[1024];
-                int len;
-                while ((len = is.read(buffer)) != -1) {
-                    zos.write(buffer, 0, len);
+            writer.putFile(resFile, currentPath);
+        }
+        return true;
+    }
+
+    /**
+     * 按 {@link ParallelZipWriter#collect(Collection)} 收集好的条目顺序串行压缩
+     *
+     * @param sources 待写入的条目
+     * @param zipFile 生成的 ZIP 文件
+     * @param comment 每个条目的注释（可为 null 或空字符串）
+     * @param policy  压缩方式选择策略（可为 null）
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    private static void zipSources(List<ParallelZipWriter.Source> sources, File zipFile, String comment,
+                                   ZipCompressionPolicy policy) throws IOException {
+        try (SerialZipWriter writer = new SerialZipWriter(zipFile, comment, policy)) {
+            for (ParallelZipWriter.Source source : sources) {
+                if (source.isDirectory) {
+                    writer.putDirectory(source.name);
+                } else {
+                    writer.putFile(source.file, source.name);
                 }
-                zos.closeEntry();
-            } finally {
-                closeIO(is);
             }
         }
-        return true;
+    }
+
+    /**
+     * 尽可能读满缓冲区
+     *
+     * @return 实际读取的字节数，到达流末尾时可能小于缓冲区长度
+     */
+    private static int readFully(InputStream is, byte[] buffer) throws IOException {
+        int total = 0;
+        int len;
+        while (total < buffer.length && (len = is.read(buffer, total, buffer.length - total)) != -1) {
+            total += len;
+        }
+        return total;
     }
 
     /**
@@ -177,51 +272,97 @@ public class StandardZipUtil {
 
     /**
      * 解压 ZIP 文件到指定目录
+     * <p>
+     * 解压前先校验全部条目名称，绝对路径或包含越出目标目录的 ".." 的条目（Zip Slip）
+     * 会使解压直接失败，不会写出任何文件；所需目录在写出文件前一次性创建。
      *
      * @param zipFile ZIP 文件对象
      * @param destDir 目标解压目录
      * @return {@code true}：解压成功；{@code false}：解压失败
+     * @throws java.util.zip.ZipException 存在非法条目路径时抛出异常
      * @throws IOException 当 IO 出错时抛出异常
      */
     public static boolean unzipFile(File zipFile, File destDir) throws IOException {
+        return extractPlanned(zipFile, destDir, null);
+    }
+
+    /**
+     * 并行解压 ZIP 文件到指定目录：目录结构一次性预先创建，文件条目按大小均衡分给多个线程，
+     * 每个线程使用独立的游标和大缓冲区写出；条目路径校验同 {@link #unzipFile(File, File)}
+     *
+     * @param zipFile     ZIP 文件对象
+     * @param destDir     目标解压目录
+     * @param threadCount 解压线程数，不大于 1 时与 {@link #unzipFile(File, File)} 相同
+     * @return {@code true}：解压成功；{@code false}：解压失败
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    public static boolean unzipFile(File zipFile, File destDir, int threadCount) throws IOException {
+        if (threadCount <= 1) {
+            return unzipFile(zipFile, destDir);
+        }
         if (zipFile == null || destDir == null) {
             return false;
         }
-        // 确保目标目录存在
-        if (!destDir.exists() && !destDir.mkdirs()) {
+        return new ParallelZipExtractor(threadCount).extract(zipFile, destDir);
+    }
+
+    /**
+     * 选择性解压 ZIP 文件：只根据中央目录中的名称挑出被过滤器接受的条目，
+     * 直接定位到这些条目的本地文件头解压，其余条目既不读取也不解压；
+     * 过滤器作用于原始条目名称，被接受的条目同样经过 {@link #unzipFile(File, File)} 的路径校验
+     *
+     * @param zipFile ZIP 文件对象
+     * @param destDir 目标解压目录
+     * @param filter  条目过滤器（例如 {@link GlobEntryFilter}）
+     * @return {@code true}：解压成功；{@code false}：解压失败
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    public static boolean unzipFile(File zipFile, File destDir, ZipEntryFilter filter) throws IOException {
+        return extractPlanned(zipFile, destDir, filter);
+    }
+
+    /**
+     * 通过映射的中央目录生成解压计划并逐个写出文件，不为每个条目创建 ZipEntry
+     *
+     * @param filter 条目过滤器，为 null 时解压全部条目
+     */
+    private static boolean extractPlanned(File zipFile, File destDir, ZipEntryFilter filter) throws IOException {
+        if (zipFile == null || destDir == null) {
             return false;
         }
-        ZipFile zf = new ZipFile(zipFile);
-        Enumeration<? extends ZipEntry> entries = zf.entries();
-        while (entries.hasMoreElements()) {
-            ZipEntry entry = entries.nextElement();
-            File outFile = new File(destDir, entry.getName());
-            if (entry.isDirectory()) {
-                if (!outFile.exists() && !outFile.mkdirs()) {
-                    return false;
-                }
-            } else {
-                // 确保父目录存在
-                File parent = outFile.getParentFile();
-                if (parent != null && !parent.exists() && !parent.mkdirs()) {
-                    return false;
-                }
-                InputStream is = null;
-                OutputStream os = null;
-                try {
-                    is = new BufferedInputStream(zf.getInputStream(entry));
-                    os = new BufferedOutputStream(new FileOutputStream(outFile));
-                    byte[] buffer = new byte[1024];
-                    int len;
-                    while ((len = is.read(buffer)) != -1) {
-                        os.write(buffer, 0, len);
-                    }
-                } finally {
-                    closeIO(is, os);
+        try (MappedZipReader reader = MappedZipReader.open(zipFile)) {
+            ZipExtractPlan plan = ZipExtractPlan.create(reader, destDir, filter);
+            if (!plan.createDirectories()) {
+                return false;
+            }
+            int fileCount = plan.fileCount();
+            if (fileCount == 0) {
+                return true;
+            }
+            MappedZipReader.Cursor cursor = reader.cursor();
+            byte[] buffer = IOBufferPool.acquire(IOBufferPool.DEFAULT_BUFFER_SIZE);
+            try {
+                for (int i = 0; i < fileCount; i++) {
+                    plan.extract(reader, cursor, i, buffer);
                 }
+                return true;
+            } finally {
+                IOBufferPool.release(buffer);
             }
         }
-        return true;
+    }
+
+    /**
+     * 按通配符选择性解压 ZIP 文件，规则见 {@link GlobEntryFilter}
+     *
+     * @param zipFile  ZIP 文件对象
+     * @param destDir  目标解压目录
+     * @param patterns 通配符模式，条目名称匹配任一模式即解压
+     * @return {@code true}：解压成功；{@code false}：解压失败
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    public static boolean unzipFileByGlob(File zipFile, File destDir, String... patterns) throws IOException {
+        return unzipFile(zipFile, destDir, new GlobEntryFilter(patterns));
     }
 
     /**
@@ -252,12 +393,14 @@ public class StandardZipUtil {
      * @throws IOException 当 IO 出错时抛出异常
      */
     public static List<String> getFilesPath(File zipFile) throws IOException {
-        List<String> paths = new ArrayList<>();
-        Enumeration<? extends ZipEntry> entries = getEntries(zipFile);
-        while (entries.hasMoreElements()) {
-            paths.add(entries.nextElement().getName());
+        try (MappedZipReader reader = MappedZipReader.open(zipFile)) {
+            List<String> paths = new ArrayList<>(reader.size());
+            MappedZipReader.Cursor entry = reader.cursor();
+            while (entry.next()) {
+                paths.add(entry.getName());
+            }
+            return paths;
         }
-        return paths;
     }
 
     /**
@@ -268,17 +411,60 @@ public class StandardZipUtil {
      * @throws IOException 当 IO 出错时抛出异常
      */
     public static List<String> getComments(File zipFile) throws IOException {
-        List<String> comments = new ArrayList<>();
-        Enumeration<? extends ZipEntry> entries = getEntries(zipFile);
-        while (entries.hasMoreElements()) {
-            ZipEntry entry = entries.nextElement();
-            comments.add(entry.getComment());
+        try (MappedZipReader reader = MappedZipReader.open(zipFile)) {
+            List<String> comments = new ArrayList<>(reader.size());
+            MappedZipReader.Cursor entry = reader.cursor();
+            while (entry.next()) {
+                comments.add(entry.getComment());
+            }
+            return comments;
+        }
+    }
+
+    /**
+     * 读取 ZIP 文件中单个条目的内容，通过 {@link ZipFilePool#getDefault()} 复用已打开的 ZIP 文件，
+     * 适合反复从同一个压缩包中读取资源
+     *
+     * @param zipFile   ZIP 文件对象
+     * @param entryName 条目名称
+     * @return 条目内容；条目不存在时返回 null
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    public static byte[] readEntry(File zipFile, String entryName) throws IOException {
+        if (zipFile == null || entryName == null) {
+            return null;
         }
-        return comments;
+        return ZipFilePool.getDefault().readEntryBytes(zipFile, entryName);
     }
 
     /**
-     * 获取 ZIP 文件中的 ZipEntry 枚举对象
+     * 解压 ZIP 文件中的单个条目，通过 {@link ZipIndex} 二分查找条目并直接定位读取，不解压其他条目
+     *
+     * @param zipFile   ZIP 文件对象
+     * @param entryName 条目名称
+     * @param destFile  目标文件（父目录不存在时自动创建）
+     * @return {@code true}：解压成功；{@code false}：条目不存在或为目录
+     * @throws IOException 当 IO 出错时抛出异常
+     */
+    public static boolean extractEntry(File zipFile, String entryName, File destFile) throws IOException {
+        if (zipFile == null || entryName == null || destFile == null) {
+            return false;
+        }
+        try (ZipIndex index = ZipIndex.open(zipFile)) {
+            int i = index.indexOf(entryName);
+            if (i < 0 || index.isDirectory(i)) {
+                return false;
+            }
+            File parent = destFile.getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                throw new IOException("创建目录失败: " + parent);
+            }
+            return index.extract(i, destFile);
+        }
+    }
+
+    /**
+     * 获取 ZIP 文件中的 ZipEntry 枚举对象（条目在 ZipFile 关闭前已全部读出，枚举可在返回后安全使用）
      *
      * @param zipFile ZIP 文件对象
      * @return ZipEntry 枚举
@@ -289,7 +475,154 @@ public class StandardZipUtil {
             return null;
         }
         try (ZipFile tryZipFile = new ZipFile(zipFile)) {
-            return tryZipFile.entries();
+            List<ZipEntry> entries = new ArrayList<>(tryZipFile.size());
+            Enumeration<? extends ZipEntry> enumeration = tryZipFile.entries();
+            while (enumeration.hasMoreElements()) {
+                entries.add(enumeration.nextElement());
+            }
+            return Collections.enumeration(entries);
+        }
+    }
+
+    /**
+     * 基于 ZipOutputStream 的串行写入器，同一次压缩的所有条目共用一个采样/复制缓冲区
+     */
+    private static final class SerialZipWriter implements Closeable {
+
+        /** 本地文件头中 CRC 字段的偏移量 */
+        private static final int LOCAL_HEADER_CRC_OFFSET = 14;
+
+        private final FileOutputStream fos;
+        private final CountingOutputStream counter;
+        private final ZipOutputStream zos;
+        private final String comment;
+        private final ZipCompressionPolicy policy;
+        private final byte[] buffer = new byte[ZipCompressionPolicy.SAMPLE_SIZE];
+        private final CRC32 crc = new CRC32();
+
+        SerialZipWriter(File zipFile, String comment, ZipCompressionPolicy policy) throws IOException {
+            this.fos = new FileOutputStream(zipFile);
+            this.counter = new CountingOutputStream(fos);
+            this.zos = new ZipOutputStream(counter);
+            this.comment = comment;
+            this.policy = policy;
+        }
+
+        /**
+         * 写入一个目录条目
+         *
+         * @param name 条目名称（以 "/" 结尾）
+         */
+        void putDirectory(String name) throws IOException {
+            zos.putNextEntry(newEntry(name));
+            zos.closeEntry();
+        }
+
+        /**
+         * 写入一个文件条目，按策略选择存储或压缩
+         *
+         * @param file 待压缩的文件
+         * @param name 条目名称
+         */
+        void putFile(File file, String name) throws IOException {
+            ZipEntry entry = newEntry(name);
+            try (InputStream is = new FileInputStream(file)) {
+                int len = 0;
+                if (policy != null) {
+                    // 先读取开头的采样数据交给策略判断，采样数据随后直接写入，无需重复读取
+                    len = readFully(is, buffer);
+                    if (policy.selectMethod(file, buffer, len) == ZipEntry.STORED) {
+                        putStored(entry, file.length(), is, len);
+                        return;
+                    }
+                }
+                zos.putNextEntry(entry);
+                if (len > 0) {
+                    zos.write(buffer, 0, len);
+                }
+                while ((len = is.read(buffer)) != -1) {
+                    zos.write(buffer, 0, len);
+                }
+                zos.closeEntry();
+            }
+        }
+
+        /**
+         * 只读取一遍文件写入 STORED 条目。ZipOutputStream 要求写入前给出大小和 CRC：
+         * 大小取文件长度，CRC 先占位，边写边计算；closeEntry 时才用条目中的 CRC 校验并记入中央目录，
+         * 因此在此之前补上真实值，再回填已写出的本地文件头（与 {@link ParallelZipWriter} 的做法相同）
+         *
+         * @param entry        ZIP 条目
+         * @param size         文件长度
+         * @param is           已读取过采样数据的文件输入流
+         * @param sampleLength 缓冲区中采样数据的长度
+         */
+        private void putStored(ZipEntry entry, long size, InputStream is, int sampleLength) throws IOException {
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(size);
+            entry.setCompressedSize(size);
+            entry.setCrc(0);
+            long localHeaderOffset = counter.count;
+            zos.putNextEntry(entry);
+            crc.reset();
+            int len = sampleLength;
+            while (len != -1) {
+                crc.update(buffer, 0, len);
+                zos.write(buffer, 0, len);
+                len = is.read(buffer);
+            }
+            entry.setCrc(crc.getValue());
+            zos.closeEntry();
+            zos.flush();
+            ByteBuffer value = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            value.putInt((int) crc.getValue());
+            value.flip();
+            // 定位写入不改变通道的当前位置，后续条目照常追加
+            FileChannel channel = fos.getChannel();
+            long position = localHeaderOffset + LOCAL_HEADER_CRC_OFFSET;
+            while (value.hasRemaining()) {
+                position += channel.write(value, position);
+            }
+        }
+
+        private ZipEntry newEntry(String name) {
+            ZipEntry entry = new ZipEntry(name);
+            if (comment != null && !comment.isEmpty()) {
+                entry.setComment(comment);
+            }
+            return entry;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                zos.finish();
+            } finally {
+                closeIO(zos);
+            }
+        }
+    }
+
+    /**
+     * 记录已写出字节数的输出流，用于得到各条目本地文件头的偏移量
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
         }
     }
 
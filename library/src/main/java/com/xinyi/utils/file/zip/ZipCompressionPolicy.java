@@ -0,0 +1,35 @@
+package com.xinyi.utils.file.zip;
+
+import java.io.File;
+import java.util.zip.ZipEntry;
+
+/**
+ * ZIP 条目压缩方式的选择策略，决定每个文件使用 STORED（仅存储）还是 DEFLATED（压缩）。
+ * 并行压缩时会在多个线程中同时调用，实现需保证线程安全。
+ *
+ * @author 新一
+ * @since 2025/4/11 10:05
+ */
+public interface ZipCompressionPolicy {
+
+    /** 文件开头采样数据的最大长度 */
+    int SAMPLE_SIZE = 64 * 1024;
+
+    /** 所有文件都使用 DEFLATED，与未指定策略时的行为一致 */
+    ZipCompressionPolicy ALWAYS_DEFLATE = new ZipCompressionPolicy() {
+        @Override
+        public int selectMethod(File file, byte[] sample, int sampleLength) {
+            return ZipEntry.DEFLATED;
+        }
+    };
+
+    /**
+     * 选择文件的压缩方式
+     *
+     * @param file         待压缩的文件
+     * @param sample       文件开头的采样数据
+     * @param sampleLength 采样数据的有效长度（不超过 {@link #SAMPLE_SIZE}）
+     * @return {@link ZipEntry#STORED} 或 {@link ZipEntry#DEFLATED}
+     */
+    int selectMethod(File file, byte[] sample, int sampleLength);
+}
@@ -0,0 +1,17 @@
+package com.xinyi.utils.file.zip;
+
+/**
+ * ZIP 条目过滤器，选择性解压时决定哪些条目需要解压。
+ * 只根据中央目录中的条目名称判断，未被接受的条目不会被读取或解压。
+ *
+ * @author 新一
+ * @since 2025/4/25 10:20
+ */
+public interface ZipEntryFilter {
+
+    /**
+     * @param name 条目名称（使用 "/" 分隔，目录以 "/" 结尾）
+     * @return true: 解压该条目；false: 跳过
+     */
+    boolean accept(String name);
+}
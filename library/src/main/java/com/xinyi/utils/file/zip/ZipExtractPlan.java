@@ -0,0 +1,229 @@
+package com.xinyi.utils.file.zip;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipException;
+
+/**
+ * 解压计划：解压前一次性规范化并校验全部条目名称，汇总需要创建的目录，再逐个写出文件。
+ * <p>
+ * 条目名称中的 "\" 视为分隔符，"." 和空段被忽略，".." 回退一级；绝对路径或回退越出解压目录的条目
+ * （Zip Slip）会使整个计划失败，不会写出任何文件。目录集合去重后按路径排序，父目录总在子目录之前，
+ * 每个目录只创建一次，写出文件时不再检查父目录是否存在。
+ *
+ * @author 新一
+ * @since 2025/4/25 15:40
+ */
+final class ZipExtractPlan {
+
+    private final File destDir;
+    /** 按路径排序的待创建目录（相对解压目录） */
+    private final List<String> dirs;
+    private final int fileCount;
+    /** 文件条目的中央目录记录偏移 */
+    private final int[] positions;
+    /** 文件条目的解压后大小 */
+    private final long[] sizes;
+    /** 文件条目规范化后的相对路径 */
+    private final String[] paths;
+
+    private ZipExtractPlan(File destDir, List<String> dirs, int fileCount, int[] positions, long[] sizes, String[] paths) {
+        this.destDir = destDir;
+        this.dirs = dirs;
+        this.fileCount = fileCount;
+        this.positions = positions;
+        this.sizes = sizes;
+        this.paths = paths;
+    }
+
+    /**
+     * 遍历中央目录生成解压计划
+     *
+     * @param reader  ZIP 读取器
+     * @param destDir 目标解压目录
+     * @param filter  条目过滤器，为 null 时解压全部条目
+     * @return 解压计划
+     * @throws ZipException 存在非法条目路径时抛出异常
+     * @throws IOException  读取中央目录失败时抛出异常
+     */
+    static ZipExtractPlan create(MappedZipReader reader, File destDir, ZipEntryFilter filter) throws IOException {
+        int capacity = reader.size();
+        int[] positions = new int[capacity];
+        long[] sizes = new long[capacity];
+        String[] paths = new String[capacity];
+        int fileCount = 0;
+        Set<String> dirSet = new HashSet<>();
+        MappedZipReader.Cursor entry = reader.cursor();
+        while (entry.next()) {
+            String name = entry.getName();
+            if (filter != null && !filter.accept(name)) {
+                continue;
+            }
+            String path = normalize(name);
+            if (entry.isDirectory()) {
+                addDirWithParents(dirSet, path);
+                continue;
+            }
+            if (path.isEmpty()) {
+                throw new ZipException("非法条目路径: " + name);
+            }
+            int slash = path.lastIndexOf('/');
+            if (slash > 0) {
+                addDirWithParents(dirSet, path.substring(0, slash));
+            }
+            if (fileCount == positions.length) {
+                // 中央目录记录数多于声明的条目数时扩容
+                int newCapacity = Math.max(16, fileCount * 2);
+                positions = Arrays.copyOf(positions, newCapacity);
+                sizes = Arrays.copyOf(sizes, newCapacity);
+                paths = Arrays.copyOf(paths, newCapacity);
+            }
+            positions[fileCount] = entry.getPosition();
+            sizes[fileCount] = entry.getSize();
+            paths[fileCount] = path;
+            fileCount++;
+        }
+        List<String> dirs = new ArrayList<>(dirSet);
+        Collections.sort(dirs);
+        return new ZipExtractPlan(destDir, dirs, fileCount, positions, sizes, paths);
+    }
+
+    /**
+     * 规范化条目名称并校验其不会越出解压目录
+     *
+     * @param name 条目名称
+     * @return 以 "/" 分隔、不含 "."、".." 和首尾分隔符的相对路径（目录条目本身可能为空串）
+     * @throws ZipException 绝对路径或越出解压目录时抛出异常
+     */
+    static String normalize(String name) throws ZipException {
+        if (name.startsWith("/") || name.startsWith("\\") || hasDrivePrefix(name)) {
+            throw new ZipException("非法条目路径（绝对路径）: " + name);
+        }
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int length = name.length();
+        for (int i = 0; i <= length; i++) {
+            if (i < length && name.charAt(i) != '/' && name.charAt(i) != '\\') {
+                continue;
+            }
+            String segment = name.substring(start, i);
+            start = i + 1;
+            if (segment.isEmpty() || ".".equals(segment)) {
+                continue;
+            }
+            if ("..".equals(segment)) {
+                if (segments.isEmpty()) {
+                    throw new ZipException("非法条目路径（越出解压目录）: " + name);
+                }
+                segments.remove(segments.size() - 1);
+            } else {
+                segments.add(segment);
+            }
+        }
+        StringBuilder sb = new StringBuilder(length);
+        for (String segment : segments) {
+            if (sb.length() > 0) {
+                sb.append('/');
+            }
+            sb.append(segment);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 是否以 Windows 盘符开头（如 "C:"、"C:/"、"C:\"），"a:b.txt" 这类名称中带冒号的普通文件名不算
+     */
+    private static boolean hasDrivePrefix(String name) {
+        if (name.length() < 2 || name.charAt(1) != ':') {
+            return false;
+        }
+        char drive = name.charAt(0);
+        if ((drive < 'A' || drive > 'Z') && (drive < 'a' || drive > 'z')) {
+            return false;
+        }
+        return name.length() == 2 || name.charAt(2) == '/' || name.charAt(2) == '\\';
+    }
+
+    /**
+     * 加入目录及其全部上级目录；某级已存在时其上级必然也已加入，可提前结束
+     */
+    private static void addDirWithParents(Set<String> dirSet, String dir) {
+        while (!dir.isEmpty() && dirSet.add(dir)) {
+            int slash = dir.lastIndexOf('/');
+            if (slash < 0) {
+                break;
+            }
+            dir = dir.substring(0, slash);
+        }
+    }
+
+    /**
+     * 按顺序一次性创建全部目录（父目录总在子目录之前，只需 mkdir）
+     *
+     * @return true: 全部创建成功或已存在；false: 任一目录创建失败
+     */
+    boolean createDirectories() {
+        if (!destDir.isDirectory() && !destDir.mkdirs()) {
+            return false;
+        }
+        for (String dir : dirs) {
+            File file = new File(destDir, dir);
+            if (!file.mkdir() && !file.isDirectory()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 待解压的文件条目数
+     */
+    int fileCount() {
+        return fileCount;
+    }
+
+    /**
+     * @param i 文件条目序号
+     * @return 解压后大小
+     */
+    long size(int i) {
+        return sizes[i];
+    }
+
+    /**
+     * 解压第 i 个文件条目（目录需已通过 {@link #createDirectories()} 创建），失败时删除未写完的输出文件
+     *
+     * @param reader ZIP 读取器
+     * @param cursor 当前线程使用的游标
+     * @param i      文件条目序号
+     * @param buffer 复制缓冲区
+     * @throws IOException 读取或写入失败时抛出异常
+     */
+    void extract(MappedZipReader reader, MappedZipReader.Cursor cursor, int i, byte[] buffer) throws IOException {
+        cursor.seek(positions[i]);
+        File outFile = new File(destDir, paths[i]);
+        boolean completed = false;
+        try (InputStream is = reader.openStream(cursor);
+             OutputStream os = new FileOutputStream(outFile)) {
+            int len;
+            while ((len = is.read(buffer)) != -1) {
+                os.write(buffer, 0, len);
+            }
+            completed = true;
+        } finally {
+            // 不保留写了一半的文件
+            if (!completed) {
+                outFile.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.xinyi.utils.file.zip;
+
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 已打开 ZIP 文件的缓存池：按 "路径 + 修改时间" 复用 {@link ZipFile} 句柄，同一个压缩包的中央目录只读取一次。
+ * <p>
+ * 池中最多保留 {@code maxSize} 个句柄，超出时按最近最少使用顺序淘汰；句柄带引用计数，
+ * 被淘汰时若仍有使用者，会等最后一个使用者释放后才真正关闭。文件被修改（修改时间或长度变化）后，
+ * 下次获取时会重新打开。所有方法均线程安全。
+ * <pre>
+ * byte[] data = ZipFilePool.getDefault().readEntryBytes(zipFile, "assets/config.json");
+ * </pre>
+ *
+ * @author 新一
+ * @since 2025/4/23 10:30
+ */
+public final class ZipFilePool implements Closeable {
+
+    private static final String TAG = ZipFilePool.class.getSimpleName();
+
+    /** 默认池容量 */
+    public static final int DEFAULT_MAX_SIZE = 8;
+
+    private static volatile ZipFilePool defaultPool;
+
+    private final int maxSize;
+    /** 访问顺序的 LinkedHashMap：迭代顺序即 LRU 顺序，最久未使用的在最前 */
+    private final LinkedHashMap<String, Shared> handles = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean closed;
+
+    /**
+     * @param maxSize 最多保留的打开句柄数
+     */
+    public ZipFilePool(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize 必须大于 0");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return 进程内共享的默认缓存池（容量为 {@link #DEFAULT_MAX_SIZE}）
+     */
+    public static ZipFilePool getDefault() {
+        ZipFilePool pool = defaultPool;
+        if (pool == null) {
+            synchronized (ZipFilePool.class) {
+                pool = defaultPool;
+                if (pool == null) {
+                    pool = new ZipFilePool(DEFAULT_MAX_SIZE);
+                    defaultPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * 获取 ZIP 文件句柄，使用完毕必须调用 {@link Handle#close()} 释放
+     *
+     * @param zipFile ZIP 文件
+     * @return 句柄
+     * @throws IOException 打开 ZIP 文件失败或缓存池已关闭时抛出异常
+     */
+    public Handle acquire(File zipFile) throws IOException {
+        String path = zipFile.getAbsolutePath();
+        long lastModified = zipFile.lastModified();
+        long length = zipFile.length();
+        synchronized (this) {
+            ensureOpen();
+            Shared shared = handles.get(path);
+            if (shared != null) {
+                if (shared.lastModified == lastModified && shared.length == length) {
+                    shared.refCount++;
+                    return new Handle(shared);
+                }
+                // 文件已被修改，旧句柄不再复用
+                handles.remove(path);
+                retire(shared);
+            }
+        }
+        // 在锁外打开文件，避免读取中央目录时阻塞其他压缩包的获取
+        ZipFile opened = new ZipFile(zipFile);
+        synchronized (this) {
+            if (closed) {
+                closeQuietly(opened);
+                ensureOpen();
+            }
+            Shared shared = handles.get(path);
+            if (shared != null && shared.lastModified == lastModified && shared.length == length) {
+                // 其他线程已抢先打开
+                closeQuietly(opened);
+            } else {
+                if (shared != null) {
+                    handles.remove(path);
+                    retire(shared);
+                }
+                shared = new Shared(opened, lastModified, length);
+                handles.put(path, shared);
+                trim();
+            }
+            shared.refCount++;
+            return new Handle(shared);
+        }
+    }
+
+    /**
+     * 读取单个条目的全部内容
+     *
+     * @param zipFile   ZIP 文件
+     * @param entryName 条目名称
+     * @return 条目内容；条目不存在时返回 null
+     * @throws IOException 读取失败时抛出异常
+     */
+    public byte[] readEntryBytes(File zipFile, String entryName) throws IOException {
+        try (Handle handle = acquire(zipFile)) {
+            ZipEntry entry = handle.getZipFile().getEntry(entryName);
+            if (entry == null) {
+                return null;
+            }
+            try (InputStream is = handle.getZipFile().getInputStream(entry)) {
+                long size = entry.getSize();
+                if (size >= 0 && size <= Integer.MAX_VALUE - 8) {
+                    byte[] data = new byte[(int) size];
+                    int total = 0;
+                    int len;
+                    while (total < data.length && (len = is.read(data, total, data.length - total)) != -1) {
+                        total += len;
+                    }
+                    if (total != data.length) {
+                        throw new IOException("条目数据不完整: " + entryName);
+                    }
+                    return data;
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int len;
+                while ((len = is.read(buffer)) != -1) {
+                    out.write(buffer, 0, len);
+                }
+                return out.toByteArray();
+            }
+        }
+    }
+
+    /**
+     * 打开单个条目的数据流，关闭该流时自动释放句柄
+     *
+     * @param zipFile   ZIP 文件
+     * @param entryName 条目名称
+     * @return 条目数据流；条目不存在时返回 null
+     * @throws IOException 读取失败时抛出异常
+     */
+    public InputStream openEntryStream(File zipFile, String entryName) throws IOException {
+        final Handle handle = acquire(zipFile);
+        try {
+            ZipEntry entry = handle.getZipFile().getEntry(entryName);
+            if (entry == null) {
+                handle.close();
+                return null;
+            }
+            return new FilterInputStream(handle.getZipFile().getInputStream(entry)) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        handle.close();
+                    }
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            handle.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 关闭池中所有未被使用的句柄，正在使用的句柄在释放后关闭
+     */
+    public synchronized void evictAll() {
+        for (Shared shared : handles.values()) {
+            retire(shared);
+        }
+        handles.clear();
+    }
+
+    /**
+     * 清空并关闭缓存池，之后不能再获取句柄
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        evictAll();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("ZipFilePool 已关闭");
+        }
+    }
+
+    /**
+     * 淘汰超出容量的最久未使用句柄
+     */
+    private void trim() {
+        Iterator<Map.Entry<String, Shared>> iterator = handles.entrySet().iterator();
+        while (handles.size() > maxSize && iterator.hasNext()) {
+            Shared shared = iterator.next().getValue();
+            iterator.remove();
+            retire(shared);
+        }
+    }
+
+    /**
+     * 标记句柄已移出缓存池，没有使用者时立即关闭
+     */
+    private void retire(Shared shared) {
+        shared.retired = true;
+        if (shared.refCount == 0) {
+            closeQuietly(shared.zipFile);
+        }
+    }
+
+    private synchronized void release(Shared shared) {
+        if (--shared.refCount == 0 && shared.retired) {
+            closeQuietly(shared.zipFile);
+        }
+    }
+
+    private static void closeQuietly(ZipFile zipFile) {
+        try {
+            zipFile.close();
+        } catch (IOException e) {
+            Log.e(TAG, "closeQuietly: ", e);
+        }
+    }
+
+    /**
+     * 池中共享的打开句柄
+     */
+    private static final class Shared {
+        final ZipFile zipFile;
+        final long lastModified;
+        final long length;
+        int refCount;
+        boolean retired;
+
+        Shared(ZipFile zipFile, long lastModified, long length) {
+            this.zipFile = zipFile;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+    }
+
+    /**
+     * 一次获取得到的句柄，关闭即归还给缓存池，重复关闭无副作用
+     */
+    public final class Handle implements Closeable {
+        private final Shared shared;
+        private boolean released;
+
+        private Handle(Shared shared) {
+            this.shared = shared;
+        }
+
+        /**
+         * @return 打开的 ZipFile，释放句柄后不可再使用
+         */
+        public ZipFile getZipFile() {
+            return shared.zipFile;
+        }
+
+        @Override
+        public void close() {
+            synchronized (ZipFilePool.this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            release(shared);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.xinyi.utils.file.zip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * ZIP 文件格式的读取工具：定位中央目录（支持 ZIP64）、解析中央目录记录和本地文件头，
+ * 并提供基于文件通道定位读取的条目数据流。
+ * 所有读取都使用 {@link FileChannel#read(ByteBuffer, long)}，不修改通道位置，可被多个线程同时使用。
+ *
+ * @author 新一
+ * @since 2025/4/22 10:10
+ */
+final class ZipFormat {
+
+    static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    static final int END_OF_CENTRAL_DIR_SIGNATURE = 0x06054b50;
+    static final int ZIP64_END_OF_CENTRAL_DIR_SIGNATURE = 0x06064b50;
+    static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+    static final int LOCAL_HEADER_SIZE = 30;
+    static final int CENTRAL_HEADER_SIZE = 46;
+    static final int END_OF_CENTRAL_DIR_SIZE = 22;
+    static final int ZIP64_END_OF_CENTRAL_DIR_SIZE = 56;
+    static final int ZIP64_LOCATOR_SIZE = 20;
+
+    /** 中央目录记录中各字段的偏移量 */
+    static final int CEN_METHOD = 10;
+    static final int CEN_CRC = 16;
+    static final int CEN_COMPRESSED_SIZE = 20;
+    static final int CEN_SIZE = 24;
+    static final int CEN_NAME_LENGTH = 28;
+    static final int CEN_EXTRA_LENGTH = 30;
+    static final int CEN_COMMENT_LENGTH = 32;
+    static final int CEN_LOCAL_HEADER_OFFSET = 42;
+
+    /** ZIP64 扩展信息的额外字段标识 */
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    /** 32 位字段取该值时，真实值保存在 ZIP64 扩展信息中 */
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+    /** ZIP64 扩展信息中各字段对应的中央目录 32 位字段，按扩展信息中的先后顺序排列 */
+    private static final int[] ZIP64_FIELD_OFFSETS = {CEN_SIZE, CEN_COMPRESSED_SIZE, CEN_LOCAL_HEADER_OFFSET};
+
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+
+    private ZipFormat() { }
+
+    /**
+     * 中央目录的位置信息
+     */
+    static final class CentralDirectory {
+        /** 中央目录起始偏移量 */
+        long offset;
+        /** 中央目录总长度 */
+        long size;
+        /** 条目数 */
+        int entryCount;
+        /** ZIP 文件注释（原始字节） */
+        byte[] comment;
+    }
+
+    /**
+     * 从文件末尾向前查找中央目录结束记录，得到中央目录的位置
+     *
+     * @param channel ZIP 文件通道
+     * @return 中央目录位置
+     * @throws IOException 不是合法的 ZIP 文件或读取失败时抛出异常
+     */
+    static CentralDirectory locate(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        int tailSize = (int) Math.min(fileSize, END_OF_CENTRAL_DIR_SIZE + MAX_COMMENT_LENGTH);
+        if (tailSize < END_OF_CENTRAL_DIR_SIZE) {
+            throw new ZipException("不是合法的 ZIP 文件");
+        }
+        long tailStart = fileSize - tailSize;
+        ByteBuffer tail = read(channel, tailStart, tailSize);
+        for (int pos = tailSize - END_OF_CENTRAL_DIR_SIZE; pos >= 0; pos--) {
+            if (tail.getInt(pos) != END_OF_CENTRAL_DIR_SIGNATURE) {
+                continue;
+            }
+            int commentLength = getUnsignedShort(tail, pos + 20);
+            if (pos + END_OF_CENTRAL_DIR_SIZE + commentLength > tailSize) {
+                continue;
+            }
+            CentralDirectory dir = new CentralDirectory();
+            long entryCount = getUnsignedShort(tail, pos + 10);
+            dir.size = getUnsignedInt(tail, pos + 12);
+            dir.offset = getUnsignedInt(tail, pos + 16);
+            dir.comment = new byte[commentLength];
+            tail.position(pos + END_OF_CENTRAL_DIR_SIZE);
+            tail.get(dir.comment);
+            long end = tailStart + pos;
+            long zip64End = locateZip64(channel, end);
+            if (zip64End >= 0) {
+                ByteBuffer zip64 = read(channel, zip64End, ZIP64_END_OF_CENTRAL_DIR_SIZE);
+                if (zip64.getInt(0) != ZIP64_END_OF_CENTRAL_DIR_SIGNATURE) {
+                    throw new ZipException("ZIP64 中央目录结束记录无效");
+                }
+                entryCount = zip64.getLong(32);
+                dir.size = zip64.getLong(40);
+                dir.offset = zip64.getLong(48);
+                end = zip64End;
+            } else if (entryCount == ZIP64_MAGIC_COUNT || dir.size == ZIP64_MAGIC || dir.offset == ZIP64_MAGIC) {
+                throw new ZipException("缺少 ZIP64 中央目录结束记录");
+            }
+            if (entryCount < 0 || entryCount > Integer.MAX_VALUE) {
+                throw new ZipException("条目数过多: " + entryCount);
+            }
+            if (dir.offset < 0 || dir.size < 0 || dir.offset + dir.size > end) {
+                throw new ZipException("中央目录位置无效");
+            }
+            dir.entryCount = (int) entryCount;
+            return dir;
+        }
+        throw new ZipException("找不到中央目录结束记录");
+    }
+
+    /**
+     * 查找紧挨在中央目录结束记录之前的 ZIP64 定位记录
+     *
+     * @return ZIP64 中央目录结束记录的偏移量；不是 ZIP64 文件时返回 -1
+     */
+    private static long locateZip64(FileChannel channel, long endOffset) throws IOException {
+        if (endOffset < ZIP64_LOCATOR_SIZE) {
+            return -1;
+        }
+        ByteBuffer locator = read(channel, endOffset - ZIP64_LOCATOR_SIZE, ZIP64_LOCATOR_SIZE);
+        if (locator.getInt(0) != ZIP64_LOCATOR_SIGNATURE) {
+            return -1;
+        }
+        long offset = locator.getLong(8);
+        if (offset < 0 || offset + ZIP64_END_OF_CENTRAL_DIR_SIZE > endOffset - ZIP64_LOCATOR_SIZE) {
+            throw new ZipException("ZIP64 定位记录无效");
+        }
+        return offset;
+    }
+
+    /**
+     * @param cen 中央目录数据（小端序）
+     * @param pos 记录起始位置
+     * @return 整条中央目录记录的长度
+     */
+    static int cenRecordLength(ByteBuffer cen, int pos) {
+        return CENTRAL_HEADER_SIZE + getUnsignedShort(cen, pos + CEN_NAME_LENGTH)
+                + getUnsignedShort(cen, pos + CEN_EXTRA_LENGTH) + getUnsignedShort(cen, pos + CEN_COMMENT_LENGTH);
+    }
+
+    /**
+     * @return 记录的解压后大小（必要时从 ZIP64 扩展信息中读取）
+     */
+    static long cenSize(ByteBuffer cen, int pos) throws ZipException {
+        long value = getUnsignedInt(cen, pos + CEN_SIZE);
+        return value == ZIP64_MAGIC ? zip64Field(cen, pos, 0) : value;
+    }
+
+    /**
+     * @return 记录的压缩后大小（必要时从 ZIP64 扩展信息中读取）
+     */
+    static long cenCompressedSize(ByteBuffer cen, int pos) throws ZipException {
+        long value = getUnsignedInt(cen, pos + CEN_COMPRESSED_SIZE);
+        return value == ZIP64_MAGIC ? zip64Field(cen, pos, 1) : value;
+    }
+
+    /**
+     * @return 记录的本地文件头偏移量（必要时从 ZIP64 扩展信息中读取）
+     */
+    static long cenLocalHeaderOffset(ByteBuffer cen, int pos) throws ZipException {
+        long value = getUnsignedInt(cen, pos + CEN_LOCAL_HEADER_OFFSET);
+        return value == ZIP64_MAGIC ? zip64Field(cen, pos, 2) : value;
+    }
+
+    /**
+     * 读取 ZIP64 扩展信息中的字段。扩展信息只包含 32 位字段为 0xFFFFFFFF 的项，
+     * 依次为：解压后大小、压缩后大小、本地文件头偏移量
+     *
+     * @param field 0：解压后大小；1：压缩后大小；2：本地文件头偏移量
+     */
+    private static long zip64Field(ByteBuffer cen, int pos, int field) throws ZipException {
+        int extraStart = pos + CENTRAL_HEADER_SIZE + getUnsignedShort(cen, pos + CEN_NAME_LENGTH);
+        int extraEnd = extraStart + getUnsignedShort(cen, pos + CEN_EXTRA_LENGTH);
+        int offset = extraStart;
+        while (offset + 4 <= extraEnd) {
+            int id = getUnsignedShort(cen, offset);
+            int length = getUnsignedShort(cen, offset + 2);
+            if (offset + 4 + length > extraEnd) {
+                break;
+            }
+            if (id == ZIP64_EXTRA_ID) {
+                int index = offset + 4;
+                for (int i = 0; i < field; i++) {
+                    if (getUnsignedInt(cen, pos + ZIP64_FIELD_OFFSETS[i]) == ZIP64_MAGIC) {
+                        index += 8;
+                    }
+                }
+                if (index + 8 > offset + 4 + length) {
+                    break;
+                }
+                return cen.getLong(index);
+            }
+            offset += 4 + length;
+        }
+        throw new ZipException("缺少 ZIP64 扩展信息");
+    }
+
+    /**
+     * 读取本地文件头，返回条目数据的起始偏移量
+     *
+     * @param channel           ZIP 文件通道
+     * @param localHeaderOffset 本地文件头偏移量
+     * @return 条目数据起始偏移量
+     * @throws IOException 本地文件头无效或读取失败时抛出异常
+     */
+    static long dataOffset(FileChannel channel, long localHeaderOffset) throws IOException {
+        ByteBuffer header = read(channel, localHeaderOffset, LOCAL_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("本地文件头无效: " + localHeaderOffset);
+        }
+        return localHeaderOffset + LOCAL_HEADER_SIZE + getUnsignedShort(header, 26) + getUnsignedShort(header, 28);
+    }
+
+    /**
+     * 打开条目数据的解压输入流
+     *
+     * @param channel           ZIP 文件通道
+     * @param localHeaderOffset 本地文件头偏移量
+     * @param compressedSize    压缩后大小
+     * @param method            压缩方式（STORED 或 DEFLATED）
+     * @return 解压后的数据流
+     * @throws IOException 不支持的压缩方式或读取失败时抛出异常
+     */
+    static InputStream openEntryStream(FileChannel channel, long localHeaderOffset, long compressedSize,
+                                       int method) throws IOException {
+        long offset = dataOffset(channel, localHeaderOffset);
+        if (method == ZipEntry.STORED) {
+            return new ChannelInputStream(channel, offset, compressedSize, false);
+        }
+        if (method == ZipEntry.DEFLATED) {
+            final Inflater inflater = new Inflater(true);
+            // nowrap 模式的 Inflater 需要在数据末尾额外提供一个字节
+            return new InflaterInputStream(new ChannelInputStream(channel, offset, compressedSize, true), inflater, 8192) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inflater.end();
+                    }
+                }
+            };
+        }
+        throw new ZipException("不支持的压缩方式: " + method);
+    }
+
+    /**
+     * 从指定位置读取固定长度的数据（小端序）
+     */
+    static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new ZipException("ZIP 文件被截断");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    static int getUnsignedShort(ByteBuffer buffer, int index) {
+        return buffer.getShort(index) & 0xFFFF;
+    }
+
+    static long getUnsignedInt(ByteBuffer buffer, int index) {
+        return buffer.getInt(index) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * 基于文件通道定位读取的有界输入流，不改变通道位置
+     */
+    private static final class ChannelInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+        private long remaining;
+        private boolean dummyByte;
+
+        ChannelInputStream(FileChannel channel, long position, long length, boolean dummyByte) {
+            this.channel = channel;
+            this.position = position;
+            this.remaining = length;
+            this.dummyByte = dummyByte;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == 1 ? b[0] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (remaining <= 0) {
+                if (dummyByte) {
+                    dummyByte = false;
+                    b[off] = 0;
+                    return 1;
+                }
+                return -1;
+            }
+            int count = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)), position);
+            if (count < 0) {
+                throw new ZipException("ZIP 文件被截断");
+            }
+            position += count;
+            remaining -= count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(remaining, Integer.MAX_VALUE);
+        }
+    }
+}
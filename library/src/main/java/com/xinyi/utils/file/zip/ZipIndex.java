@@ -0,0 +1,296 @@
+package com.xinyi.utils.file.zip;
+
+import com.xinyi.utils.file.io.IOBufferPool;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipException;
+
+/**
+ * ZIP 条目索引：基于 {@link MappedZipReader} 遍历一次中央目录（支持 ZIP64），按条目保存在基本类型数组中（记录偏移、本地文件头偏移、大小、CRC），
+ * 不为每个条目创建 {@link java.util.zip.ZipEntry}，文件名和注释直接从映射的中央目录中读取。
+ * <p>
+ * 条目按中央目录顺序编号，{@link #indexOf(String)} 首次调用时按文件名字节序建立排序索引，之后为 O(log n) 二分查找；
+ * {@link #openStream(int)} 直接定位到条目的本地文件头读取数据，无需扫描其他条目。
+ * 索引持有打开的文件句柄，可被多个线程同时读取，使用完毕需调用 {@link #close()}。
+ * <pre>
+ * try (ZipIndex index = ZipIndex.open(zipFile)) {
+ *     int i = index.indexOf("assets/config.json");
+ *     if (i >= 0) index.extract(i, destFile);
+ * }
+ * </pre>
+ *
+ * @author 新一
+ * @since 2025/4/22 10:10
+ */
+public final class ZipIndex implements Closeable {
+
+    /** 条目数据复制缓冲区大小 */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MappedZipReader reader;
+    private final int count;
+    /** 条目记录在中央目录中的偏移，用于 {@link MappedZipReader.Cursor#seek(int)} */
+    private final int[] positions;
+    private final long[] localHeaderOffsets;
+    private final long[] compressedSizes;
+    private final long[] sizes;
+    private final int[] crcs;
+    /** 按文件名排序后的条目编号，首次查找时生成 */
+    private int[] sorted;
+
+    private ZipIndex(MappedZipReader reader) throws IOException {
+        this.reader = reader;
+        count = reader.size();
+        positions = new int[count];
+        localHeaderOffsets = new long[count];
+        compressedSizes = new long[count];
+        sizes = new long[count];
+        crcs = new int[count];
+        MappedZipReader.Cursor cursor = reader.cursor();
+        for (int i = 0; i < count; i++) {
+            if (!cursor.next()) {
+                throw new ZipException("中央目录条目数不足: " + i + "/" + count);
+            }
+            positions[i] = cursor.getPosition();
+            crcs[i] = (int) cursor.getCrc();
+            compressedSizes[i] = cursor.getCompressedSize();
+            sizes[i] = cursor.getSize();
+            localHeaderOffsets[i] = cursor.getLocalHeaderOffset();
+        }
+    }
+
+    /**
+     * 打开 ZIP 文件并读取其中央目录
+     *
+     * @param zipFile ZIP 文件
+     * @return 条目索引
+     * @throws IOException 不是合法的 ZIP 文件或读取失败时抛出异常
+     */
+    public static ZipIndex open(File zipFile) throws IOException {
+        MappedZipReader reader = MappedZipReader.open(zipFile);
+        try {
+            return new ZipIndex(reader);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return 条目数
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * 按名称查找条目
+     *
+     * @param name 条目名称（目录以 "/" 结尾）
+     * @return 条目编号；不存在时返回 -1
+     */
+    public int indexOf(String name) {
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        int[] order = sortedOrder();
+        MappedZipReader.Cursor cursor = reader.cursor();
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareName(seek(cursor, order[mid]), key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return order[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param index 条目编号
+     * @return 条目名称
+     */
+    public String getName(int index) {
+        return seek(reader.cursor(), index).getName();
+    }
+
+    /**
+     * @param index 条目编号
+     * @return 条目注释；没有注释时返回 null
+     */
+    public String getComment(int index) {
+        return seek(reader.cursor(), index).getComment();
+    }
+
+    /**
+     * @return ZIP 文件注释；没有注释时返回 null
+     */
+    public String getArchiveComment() {
+        return reader.getArchiveComment();
+    }
+
+    /**
+     * @param index 条目编号
+     * @return 是否为目录条目
+     */
+    public boolean isDirectory(int index) {
+        return seek(reader.cursor(), index).isDirectory();
+    }
+
+    /**
+     * @param index 条目编号
+     * @return 解压后大小
+     */
+    public long getSize(int index) {
+        return sizes[index];
+    }
+
+    /**
+     * @param index 条目编号
+     * @return 压缩后大小
+     */
+    public long getCompressedSize(int index) {
+        return compressedSizes[index];
+    }
+
+    /**
+     * @param index 条目编号
+     * @return CRC-32 校验值
+     */
+    public long getCrc(int index) {
+        return crcs[index] & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @param index 条目编号
+     * @return 压缩方式（{@link java.util.zip.ZipEntry#STORED} 或 {@link java.util.zip.ZipEntry#DEFLATED}）
+     */
+    public int getMethod(int index) {
+        return seek(reader.cursor(), index).getMethod();
+    }
+
+    /**
+     * 打开条目数据流，直接定位到条目的本地文件头读取
+     *
+     * @param index 条目编号
+     * @return 解压后的数据流，使用完毕需关闭
+     * @throws IOException 读取失败或压缩方式不支持时抛出异常
+     */
+    public InputStream openStream(int index) throws IOException {
+        return reader.openStream(localHeaderOffsets[index], compressedSizes[index], getMethod(index));
+    }
+
+    /**
+     * 解压单个条目到指定文件（父目录需已存在）
+     *
+     * @param index    条目编号
+     * @param destFile 目标文件
+     * @return {@code true}：解压成功；{@code false}：条目为目录
+     * @throws IOException 读取或写入失败时抛出异常
+     */
+    public boolean extract(int index, File destFile) throws IOException {
+        if (isDirectory(index)) {
+            return false;
+        }
+        byte[] buffer = IOBufferPool.acquire(BUFFER_SIZE);
+        try (InputStream is = openStream(index);
+             OutputStream os = new FileOutputStream(destFile)) {
+            int len;
+            while ((len = is.read(buffer)) != -1) {
+                os.write(buffer, 0, len);
+            }
+            return true;
+        } finally {
+            IOBufferPool.release(buffer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 把游标定位到指定条目；偏移在建立索引时已校验过，不会失败
+     */
+    private MappedZipReader.Cursor seek(MappedZipReader.Cursor cursor, int index) {
+        try {
+            cursor.seek(positions[index]);
+        } catch (ZipException e) {
+            throw new IllegalStateException(e);
+        }
+        return cursor;
+    }
+
+    private synchronized int[] sortedOrder() {
+        if (sorted == null) {
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            mergeSort(order, new int[count], 0, count, reader.cursor(), reader.cursor());
+            sorted = order;
+        }
+        return sorted;
+    }
+
+    /**
+     * 按文件名字节序对条目编号做归并排序（区间为 [from, to)）
+     */
+    private void mergeSort(int[] a, int[] tmp, int from, int to,
+                           MappedZipReader.Cursor left, MappedZipReader.Cursor right) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, tmp, from, mid, left, right);
+        mergeSort(a, tmp, mid, to, left, right);
+        if (compareNames(seek(left, a[mid - 1]), seek(right, a[mid])) <= 0) {
+            return;
+        }
+        System.arraycopy(a, from, tmp, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && compareNames(seek(left, tmp[i]), seek(right, tmp[j])) <= 0)) {
+                a[k] = tmp[i++];
+            } else {
+                a[k] = tmp[j++];
+            }
+        }
+    }
+
+    private static int compareNames(MappedZipReader.Cursor a, MappedZipReader.Cursor b) {
+        int lengthA = a.getNameLength();
+        int lengthB = b.getNameLength();
+        int min = Math.min(lengthA, lengthB);
+        for (int i = 0; i < min; i++) {
+            int cmp = (a.getNameByte(i) & 0xFF) - (b.getNameByte(i) & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return lengthA - lengthB;
+    }
+
+    private static int compareName(MappedZipReader.Cursor cursor, byte[] key) {
+        int length = cursor.getNameLength();
+        int min = Math.min(length, key.length);
+        for (int i = 0; i < min; i++) {
+            int cmp = (cursor.getNameByte(i) & 0xFF) - (key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - key.length;
+    }
+}
@@ -0,0 +1,58 @@
+package com.xinyi.utils.file;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * 单元测试共用的文件读写辅助方法
+ *
+ * @author 新一
+ * @since 2025/4/25 9:30
+ */
+public final class TestFiles {
+
+    private TestFiles() { }
+
+    /**
+     * 写入文件，父目录不存在时自动创建
+     */
+    public static File write(File file, byte[] data) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("创建目录失败: " + parent);
+        }
+        try (FileOutputStream fos = new FileOutputStream(file)) {
+            fos.write(data);
+        }
+        return file;
+    }
+
+    public static File write(File file, String content) throws IOException {
+        return write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static byte[] read(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] data = new byte[(int) raf.length()];
+            raf.readFully(data);
+            return data;
+        }
+    }
+
+    public static String readString(File file) throws IOException {
+        return new String(read(file), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return 由种子确定的随机字节，相同参数每次结果相同
+     */
+    public static byte[] randomBytes(int length, long seed) {
+        byte[] data = new byte[length];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,73 @@
+package com.xinyi.utils.file.entity;
+
+import com.xinyi.utils.file.TestFiles;
+import com.xinyi.utils.file.io.FileListUtil;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 文件实体延迟格式化修改时间的测试
+ *
+ * @author 新一
+ * @since 2025/4/25 12:40
+ */
+public class FileEntityTest {
+
+    private static final long TIME = 1700000000123L;
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void formatsMillisLazilyAndCachesResult() {
+        FileEntity entity = new FileEntity("a.txt", 1, "/a.txt", TIME, false);
+        assertEquals(TIME, entity.getLastModifiedMillis());
+        String formatted = entity.getLastModified();
+        assertEquals(format(TIME), formatted);
+        assertSame(formatted, entity.getLastModified());
+
+        // 重新设置时间戳后重新格式化
+        entity.setLastModifiedMillis(0);
+        assertEquals(format(0), entity.getLastModified());
+    }
+
+    @Test
+    public void stringConstructorKeepsGivenTextAndUnknownMillis() {
+        FileEntity entity = new FileEntity("a.txt", 1, "/a.txt", "2025-01-01 00:00:00", false);
+        assertEquals(FileEntity.UNKNOWN_TIME, entity.getLastModifiedMillis());
+        assertEquals("2025-01-01 00:00:00", entity.getLastModified());
+        assertNull(new FileEntity().getLastModified());
+        assertTrue(entity.toString().contains("lastModified='2025-01-01 00:00:00'"));
+    }
+
+    @Test
+    public void convertUsesGivenFormatImmediately() throws IOException {
+        File file = TestFiles.write(new File(temp.getRoot(), "a.txt"), "abc");
+        assertTrue(file.setLastModified(TIME));
+        FileEntity lazy = FileListUtil.convertToFileEntity(file);
+        assertEquals(file.lastModified(), lazy.getLastModifiedMillis());
+        assertEquals(format(file.lastModified()), lazy.getLastModified());
+        assertEquals(3L, lazy.getSize());
+
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy/MM/dd", Locale.US);
+        FileEntity formatted = FileListUtil.convertToFileEntity(file, sdf);
+        assertEquals(sdf.format(new Date(file.lastModified())), formatted.getLastModified());
+    }
+
+    private static String format(long millis) {
+        return new SimpleDateFormat(FileEntity.DATE_FORMAT, Locale.CHINA).format(new Date(millis));
+    }
+}
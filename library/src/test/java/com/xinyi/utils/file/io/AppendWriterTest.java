@@ -0,0 +1,91 @@
+package com.xinyi.utils.file.io;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * AppendWriter 缓冲、刷新与关闭测试
+ *
+ * @author 新一
+ * @since 2025/4/25 14:00
+ */
+public class AppendWriterTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void closeDrainsBufferedData() throws IOException {
+        File file = temp.newFile("append.log");
+        AppendWriter writer = new AppendWriter(file, 1024, 0);
+        writer.write("first\n");
+        writer.write("second\n".getBytes(StandardCharsets.UTF_8));
+        // 未刷新前数据只在缓冲区中，length() 包含缓冲部分
+        assertEquals(0, file.length());
+        assertEquals(13, writer.length());
+        writer.close();
+        assertEquals("first\nsecond\n", TestFiles.readString(file));
+        // 重复关闭无副作用
+        writer.close();
+    }
+
+    @Test
+    public void writeAfterCloseFails() throws IOException {
+        File file = temp.newFile("closed.log");
+        AppendWriter writer = new AppendWriter(file, 1024, 0);
+        writer.close();
+        try {
+            writer.write("late");
+            fail("关闭后写入应抛出异常");
+        } catch (IOException expected) {
+            // 预期异常
+        }
+        // 关闭后 flush 静默忽略
+        writer.flush();
+        assertEquals(0, file.length());
+    }
+
+    @Test
+    public void preservesOrderAcrossBufferBoundaries() throws IOException {
+        File file = temp.newFile("order.log");
+        StringBuilder expected = new StringBuilder();
+        try (AppendWriter writer = new AppendWriter(file, 16, 0)) {
+            for (int i = 0; i < 200; i++) {
+                // 交替写入小于、接近和超过缓冲区容量的数据
+                StringBuilder record = new StringBuilder().append(i).append(':');
+                for (int j = 0; j < i % 40; j++) {
+                    record.append('x');
+                }
+                record.append('\n');
+                writer.write(record.toString());
+                expected.append(record);
+            }
+        }
+        assertEquals(expected.toString(), TestFiles.readString(file));
+    }
+
+    @Test
+    public void appendsToExistingFile() throws IOException {
+        File file = temp.newFile("existing.log");
+        try (AppendWriter writer = new AppendWriter(file)) {
+            writer.write("a");
+            writer.flush();
+            assertEquals(1, file.length());
+        }
+        try (AppendWriter writer = new AppendWriter(file)) {
+            writer.write("b");
+            writer.sync();
+        }
+        assertEquals("ab", TestFiles.readString(file));
+    }
+}
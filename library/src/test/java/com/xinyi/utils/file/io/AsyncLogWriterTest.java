@@ -0,0 +1,115 @@
+package com.xinyi.utils.file.io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * AsyncLogWriter 关闭时排空队列的测试
+ *
+ * @author 新一
+ * @since 2025/4/25 14:30
+ */
+public class AsyncLogWriterTest {
+
+    private static final int THREADS = 4;
+    private static final int RECORDS_PER_THREAD = 5000;
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void closeWritesEveryQueuedRecord() throws Exception {
+        File dir = temp.newFolder("logs");
+        // 文件上限较小，同时覆盖按大小切换文件
+        final AsyncLogWriter writer = new AsyncLogWriter(dir.getPath(), "app", ".log", 64 * 1024, false);
+        final AtomicInteger rejected = new AtomicInteger();
+        Thread[] producers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+            producers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                        if (!writer.append("t" + id + " record " + i + "\n")) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        writer.close();
+
+        assertEquals(0, rejected.get());
+        assertFalse(writer.append("late\n"));
+        assertEquals(0, writer.getDroppedCount());
+        Set<String> lines = readAllLines(dir);
+        assertEquals(THREADS * RECORDS_PER_THREAD, lines.size());
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                assertTrue(lines.contains("t" + t + " record " + i));
+            }
+        }
+    }
+
+    @Test
+    public void closeWithGroupCommitDrainsQueue() throws Exception {
+        File dir = temp.newFolder("synced");
+        AsyncLogWriter writer = new AsyncLogWriter(dir.getPath(), "app", ".log", 0, true);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(writer.append("record " + i + "\n"));
+        }
+        writer.close();
+        // 重复关闭无副作用
+        writer.close();
+        assertEquals(1000, readAllLines(dir).size());
+    }
+
+    /**
+     * 读取日志目录下所有日期子目录中的全部记录，重复的行会使总数减少
+     */
+    private static Set<String> readAllLines(File dir) throws IOException {
+        Set<String> lines = new HashSet<>();
+        int total = 0;
+        File[] dateDirs = dir.listFiles();
+        if (dateDirs == null) {
+            return lines;
+        }
+        for (File dateDir : dateDirs) {
+            File[] files = dateDir.listFiles();
+            if (files == null) {
+                continue;
+            }
+            for (File file : files) {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        lines.add(line);
+                        total++;
+                    }
+                }
+            }
+        }
+        assertEquals("存在重复写入的记录", total, lines.size());
+        return lines;
+    }
+}
@@ -0,0 +1,89 @@
+package com.xinyi.utils.file.io;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * fork/join 并行目录复制、移动测试
+ *
+ * @author 新一
+ * @since 2025/4/25 10:10
+ */
+public class DirCopyTaskTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void parallelCopyReproducesTree() throws IOException {
+        File src = createTree(temp.newFolder("src"));
+        File dest = new File(temp.getRoot(), "dest");
+        assertTrue(FileCopyMove.copyOrMoveDirParallel(src, dest, false, 4));
+        assertSameTree(src, dest);
+    }
+
+    @Test
+    public void parallelMoveRemovesSource() throws IOException {
+        File src = createTree(temp.newFolder("src"));
+        File expected = new File(temp.getRoot(), "expected");
+        assertTrue(FileCopyMove.copyOrMoveDir(src, expected, false));
+        // 目标已存在，无法整体重命名，走并行逐项移动
+        File dest = temp.newFolder("dest");
+        assertTrue(FileCopyMove.copyOrMoveDirParallel(src, dest, true, 4));
+        assertFalse(src.exists());
+        assertSameTree(expected, dest);
+    }
+
+    @Test
+    public void parallelCopyFailsOnExistingTargetFile() throws IOException {
+        File src = createTree(temp.newFolder("src"));
+        File dest = temp.newFolder("dest");
+        TestFiles.write(new File(dest, "d1/f5.bin"), "occupied");
+        assertFalse(FileCopyMove.copyOrMoveDirParallel(src, dest, false, 4));
+        // 已存在的文件不会被覆盖
+        assertEquals("occupied", TestFiles.readString(new File(dest, "d1/f5.bin")));
+    }
+
+    /**
+     * 每个目录的文件数超过一个批次（32 个），并包含多层子目录和空目录
+     */
+    private static File createTree(File root) throws IOException {
+        for (int d = 0; d < 3; d++) {
+            for (int f = 0; f < 70; f++) {
+                TestFiles.write(new File(root, "d" + d + "/f" + f + ".bin"), TestFiles.randomBytes(f * 37, d * 100 + f));
+            }
+            TestFiles.write(new File(root, "d" + d + "/deep/er/leaf.txt"), "leaf" + d);
+        }
+        TestFiles.write(new File(root, "top.txt"), "top");
+        assertTrue(new File(root, "emptyDir").mkdir());
+        return root;
+    }
+
+    private static void assertSameTree(File expected, File actual) throws IOException {
+        assertTrue(actual.getPath(), actual.isDirectory());
+        String[] names = expected.list();
+        assertTrue(names != null);
+        String[] actualNames = actual.list();
+        assertTrue(actualNames != null && actualNames.length == names.length);
+        for (String name : names) {
+            File e = new File(expected, name);
+            File a = new File(actual, name);
+            if (e.isDirectory()) {
+                assertSameTree(e, a);
+            } else {
+                assertArrayEquals(a.getPath(), TestFiles.read(e), TestFiles.read(a));
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.xinyi.utils.file.io;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 可持久化目录大小缓存的测试
+ *
+ * @author 新一
+ * @since 2025/4/25 12:00
+ */
+public class DirectorySizeCacheTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void detectsAddedFilesAndInPlaceWritesAfterInvalidate() throws IOException {
+        File root = createTree(temp.newFolder("root"));
+        DirectorySizeCache cache = new DirectorySizeCache(new File(temp.getRoot(), "size.cache"), 0);
+        assertEquals(600L, cache.sizeOf(root));
+        assertEquals(500L, cache.sizeOf(new File(root, "b")));
+
+        // 新增文件会改变目录修改时间，刚修改过的目录也总会重新列出
+        TestFiles.write(new File(root, "b/c/new.bin"), new byte[50]);
+        assertEquals(650L, cache.sizeOf(root));
+
+        // 原地写入不改变目录修改时间，需要手动使其失效
+        File existing = new File(root, "b/c/c.bin");
+        TestFiles.write(existing, new byte[1000]);
+        cache.invalidate(existing.getParentFile());
+        assertEquals(1350L, cache.sizeOf(root));
+        assertEquals(0L, cache.sizeOf(null));
+        assertEquals(0L, cache.sizeOf(new File(root, "a.bin")));
+    }
+
+    @Test
+    public void saveAndLoadRoundTrip() throws IOException {
+        File root = createTree(temp.newFolder("root"));
+        File cacheFile = new File(temp.getRoot(), "cache/size.cache");
+        DirectorySizeCache cache = new DirectorySizeCache(cacheFile);
+        assertFalse(cache.load());
+        assertEquals(600L, cache.sizeOf(root));
+        assertTrue(cache.save());
+        assertTrue(cacheFile.isFile());
+        assertFalse(new File(cacheFile.getPath() + ".tmp").exists());
+
+        DirectorySizeCache loaded = new DirectorySizeCache(cacheFile);
+        assertTrue(loaded.load());
+        assertEquals(600L, loaded.sizeOf(root));
+        assertEquals(300L, loaded.sizeOf(new File(root, "b/c")));
+    }
+
+    @Test
+    public void corruptCacheFileIsIgnored() throws IOException {
+        File cacheFile = TestFiles.write(new File(temp.getRoot(), "size.cache"), "not a cache");
+        DirectorySizeCache cache = new DirectorySizeCache(cacheFile);
+        assertFalse(cache.load());
+        File root = createTree(temp.newFolder("root"));
+        assertEquals(600L, cache.sizeOf(root));
+    }
+
+    /**
+     * root/a.bin(100)、root/b/b.bin(200)、root/b/c/c.bin(300)
+     */
+    private static File createTree(File root) throws IOException {
+        TestFiles.write(new File(root, "a.bin"), new byte[100]);
+        TestFiles.write(new File(root, "b/b.bin"), new byte[200]);
+        TestFiles.write(new File(root, "b/c/c.bin"), new byte[300]);
+        return root;
+    }
+}
@@ -0,0 +1,91 @@
+package com.xinyi.utils.file.io;
+
+import com.xinyi.utils.file.TestFiles;
+import com.xinyi.utils.file.entity.FileEntity;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 自底向上目录大小索引及目录列表大小的测试
+ *
+ * @author 新一
+ * @since 2025/4/25 11:20
+ */
+public class DirectorySizeIndexTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File root;
+
+    /**
+     * root/a.bin(100)、root/b/b.bin(200)、root/b/c/c.bin(300)、root/b/c/empty/
+     */
+    @Before
+    public void setUp() throws IOException {
+        root = temp.newFolder("root");
+        TestFiles.write(new File(root, "a.bin"), new byte[100]);
+        TestFiles.write(new File(root, "b/b.bin"), new byte[200]);
+        TestFiles.write(new File(root, "b/c/c.bin"), new byte[300]);
+        assertTrue(new File(root, "b/c/empty").mkdir());
+    }
+
+    @Test
+    public void buildComputesEverySubdirectory() {
+        DirectorySizeIndex index = DirectorySizeIndex.build(root);
+        assertEquals(600L, index.sizeOf(root));
+        assertEquals(500L, index.sizeOf(new File(root, "b")));
+        assertEquals(300L, index.sizeOf(new File(root, "b/c")));
+        assertEquals(0L, index.sizeOf(new File(root, "b/c/empty")));
+        assertEquals(0L, index.sizeOf(null));
+    }
+
+    @Test
+    public void sizesAreCachedUntilCleared() throws IOException {
+        DirectorySizeIndex index = new DirectorySizeIndex();
+        // 计算父目录时顺带缓存子目录，之后新增的文件在 clear 前不可见
+        assertEquals(600L, index.sizeOf(root));
+        TestFiles.write(new File(root, "b/c/new.bin"), new byte[50]);
+        assertEquals(300L, index.sizeOf(new File(root, "b/c")));
+        assertEquals(600L, index.sizeOf(root));
+
+        index.clear();
+        assertEquals(350L, index.sizeOf(new File(root, "b/c")));
+        assertEquals(650L, index.sizeOf(root));
+    }
+
+    @Test
+    public void listingUsesSubtreeSizes() throws IOException {
+        DirectorySizeIndex index = new DirectorySizeIndex();
+        Map<String, FileEntity> byName = new HashMap<>();
+        for (FileEntity entity : FileListUtil.getAllFileAndDirectoryList(root.getPath(), true, index)) {
+            byName.put(entity.getName(), entity);
+        }
+        assertEquals(2, byName.size());
+        assertEquals(100L, byName.get("a.bin").getSize());
+        assertFalse(byName.get("a.bin").isDirectory());
+        assertEquals(500L, byName.get("b").getSize());
+        assertTrue(byName.get("b").isDirectory());
+
+        // 复用索引列出下一层，结果与不带索引的重载一致
+        List<FileEntity> withIndex = FileListUtil.getAllDirectoryList(new File(root, "b").getPath(), true, index);
+        List<FileEntity> withoutIndex = FileListUtil.getAllDirectoryList(new File(root, "b").getPath(), true);
+        assertEquals(1, withIndex.size());
+        assertEquals(300L, withIndex.get(0).getSize());
+        assertEquals(withoutIndex.get(0).getSize(), withIndex.get(0).getSize());
+        assertEquals(300L, FileListUtil.convertToFileEntity(new File(root, "b/c")).getSize());
+    }
+}
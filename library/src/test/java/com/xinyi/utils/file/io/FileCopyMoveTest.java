@@ -0,0 +1,80 @@
+package com.xinyi.utils.file.io;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * FileCopyMove 移动策略测试
+ *
+ * @author 新一
+ * @since 2025/4/25 9:50
+ */
+public class FileCopyMoveTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void moveFileRenamesWithinFileSystem() throws IOException {
+        File src = TestFiles.write(new File(temp.getRoot(), "a.txt"), "a");
+        File dest = new File(temp.getRoot(), "sub/b.txt");
+        assertEquals(FileCopyMove.MoveStrategy.RENAME, FileCopyMove.moveWithStrategy(src, dest));
+        assertFalse(src.exists());
+        assertEquals("a", TestFiles.readString(dest));
+    }
+
+    @Test
+    public void mergeIntoExistingDirReportsRename() throws IOException {
+        File src = temp.newFolder("src");
+        TestFiles.write(new File(src, "one.txt"), "1");
+        TestFiles.write(new File(src, "nested/two.txt"), "2");
+        File dest = temp.newFolder("dest");
+        TestFiles.write(new File(dest, "existing.txt"), "e");
+
+        assertEquals(FileCopyMove.MoveStrategy.RENAME, FileCopyMove.moveWithStrategy(src, dest));
+        assertFalse(src.exists());
+        assertEquals("1", TestFiles.readString(new File(dest, "one.txt")));
+        assertEquals("2", TestFiles.readString(new File(dest, "nested/two.txt")));
+        assertEquals("e", TestFiles.readString(new File(dest, "existing.txt")));
+    }
+
+    @Test
+    public void rejectsMoveIntoOwnSubdirectory() throws IOException {
+        File src = temp.newFolder("a", "b");
+        TestFiles.write(new File(src, "f.txt"), "f");
+        assertEquals(FileCopyMove.MoveStrategy.FAILED,
+                FileCopyMove.moveWithStrategy(src, new File(src, "inner")));
+        assertEquals(FileCopyMove.MoveStrategy.FAILED, FileCopyMove.moveWithStrategy(src, src));
+        assertFalse(FileCopyMove.copyOrMoveDir(src, new File(src, "inner/deeper"), false));
+        assertTrue(new File(src, "f.txt").isFile());
+    }
+
+    @Test
+    public void allowsSiblingWithSharedPrefix() throws IOException {
+        File src = temp.newFolder("a", "b");
+        TestFiles.write(new File(src, "f.txt"), "f");
+        File sibling = new File(temp.getRoot(), "a/b2");
+        assertTrue(FileCopyMove.copyOrMoveDir(src, sibling, false));
+        assertEquals("f", TestFiles.readString(new File(sibling, "f.txt")));
+    }
+
+    @Test
+    public void allowsDestinationThatMerelyContainsSourcePath() throws IOException {
+        // "/x/a/b" 包含 "/a/b" 这段字符串，但并不位于源目录内部
+        File src = temp.newFolder("a", "b");
+        TestFiles.write(new File(src, "f.txt"), "f");
+        File dest = new File(temp.getRoot(), "x" + src.getAbsolutePath());
+        assertEquals(FileCopyMove.MoveStrategy.RENAME, FileCopyMove.moveWithStrategy(src, dest));
+        assertEquals("f", TestFiles.readString(new File(dest, "f.txt")));
+    }
+}
@@ -0,0 +1,89 @@
+package com.xinyi.utils.file.io;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * FileIOUtil 与 FileCopyMove 文件复制测试
+ *
+ * @author 新一
+ * @since 2025/4/25 9:40
+ */
+public class FileIOUtilTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void copyFileByChannelSpansMultipleChunks() throws IOException {
+        // 大于单次 transferTo 的 8MB 分块
+        byte[] data = TestFiles.randomBytes(9 * 1024 * 1024 + 123, 1);
+        File src = TestFiles.write(new File(temp.getRoot(), "src.bin"), data);
+        File dest = new File(temp.getRoot(), "dest.bin");
+        assertEquals(data.length, FileIOUtil.copyFileByChannel(src, dest, false));
+        assertArrayEquals(data, TestFiles.read(dest));
+    }
+
+    @Test
+    public void copyFileByChannelAppends() throws IOException {
+        File src = TestFiles.write(new File(temp.getRoot(), "src.txt"), "world");
+        File dest = TestFiles.write(new File(temp.getRoot(), "dest.txt"), "hello ");
+        assertEquals(5, FileIOUtil.copyFileByChannel(src, dest, true));
+        assertEquals("hello world", TestFiles.readString(dest));
+    }
+
+    @Test
+    public void copyFileByChannelHandlesEmptyFile() throws IOException {
+        File src = temp.newFile("empty");
+        File dest = new File(temp.getRoot(), "copy");
+        assertEquals(0, FileIOUtil.copyFileByChannel(src, dest, false));
+        assertTrue(dest.isFile());
+        assertEquals(0, dest.length());
+    }
+
+    @Test
+    public void writeFileFromStreamCopiesAndClosesInput() throws IOException {
+        byte[] data = TestFiles.randomBytes(700 * 1024 + 5, 3);
+        File file = new File(temp.getRoot(), "out/stream.bin");
+        final boolean[] closed = new boolean[1];
+        InputStream is = new ByteArrayInputStream(data) {
+            @Override
+            public void close() throws IOException {
+                closed[0] = true;
+                super.close();
+            }
+        };
+        assertEquals(data.length, FileIOUtil.writeFileFromStream(file, is, false, 256 * 1024));
+        assertTrue(closed[0]);
+        assertArrayEquals(data, TestFiles.read(file));
+
+        assertEquals(3, FileIOUtil.writeFileFromStream(file, new ByteArrayInputStream(new byte[]{1, 2, 3}), true, 0));
+        assertEquals(data.length + 3, file.length());
+        assertEquals(-1, FileIOUtil.writeFileFromStream(file, null, false, 0));
+    }
+
+    @Test
+    public void copyOrMoveFileCopiesThroughChannel() throws IOException {
+        byte[] data = TestFiles.randomBytes(300 * 1024, 2);
+        File src = TestFiles.write(new File(temp.getRoot(), "src.bin"), data);
+        File dest = new File(temp.getRoot(), "nested/dir/dest.bin");
+        assertTrue(FileCopyMove.copyOrMoveFile(src, dest, false));
+        assertArrayEquals(data, TestFiles.read(dest));
+        assertTrue(src.exists());
+        // 目标已存在时不覆盖
+        assertFalse(FileCopyMove.copyOrMoveFile(src, dest, false));
+    }
+}
@@ -0,0 +1,217 @@
+package com.xinyi.utils.file.io;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 文件读取、删除及按日期创建文件的测试
+ *
+ * @author 新一
+ * @since 2025/4/25 13:00
+ */
+public class FileOperationTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void readFileDataFullyPreservesBytes() throws IOException {
+        String content = "第一行\r\nsecond line\n\n末尾没有换行";
+        File file = TestFiles.write(new File(temp.getRoot(), "a.txt"), content);
+        assertEquals(content, FileOperation.readFileDataFully(file.getPath()));
+
+        File empty = TestFiles.write(new File(temp.getRoot(), "empty.txt"), new byte[0]);
+        assertEquals("", FileOperation.readFileDataFully(empty.getPath()));
+
+        // 超过默认缓冲区的文件同样一次读满
+        StringBuilder large = new StringBuilder();
+        while (large.length() < 1024 * 1024) {
+            large.append("日志内容 0123456789\n");
+        }
+        File largeFile = TestFiles.write(new File(temp.getRoot(), "large.txt"), large.toString());
+        assertEquals(large.toString(), FileOperation.readFileDataFully(largeFile.getPath()));
+    }
+
+    @Test
+    public void readFileDataFullyReplacesMalformedBytes() throws IOException {
+        byte[] bytes = {'a', (byte) 0xFF, 'b'};
+        File file = TestFiles.write(new File(temp.getRoot(), "bad.txt"), bytes);
+        assertEquals(new String(bytes, StandardCharsets.UTF_8), FileOperation.readFileDataFully(file.getPath()));
+        assertEquals("a\uFFFDb", FileOperation.readFileDataFully(file.getPath()));
+    }
+
+    @Test
+    public void readFileDataFullyRejectsMissingFileAndDirectory() throws IOException {
+        for (File file : new File[]{new File(temp.getRoot(), "missing"), temp.newFolder("dir")}) {
+            try {
+                FileOperation.readFileDataFully(file.getPath());
+                fail("FileNotFoundException expected: " + file);
+            } catch (FileNotFoundException expected) {
+                // 预期行为
+            }
+        }
+    }
+
+    @Test
+    public void forEachLineStreamsAllLinesAndStopsOnRequest() throws IOException {
+        File file = TestFiles.write(new File(temp.getRoot(), "log.txt"), "一\r\n二\n\n三");
+        final List<String> lines = new ArrayList<>();
+        assertTrue(FileOperation.forEachLine(file.getPath(), new FileOperation.LineCallback() {
+            @Override
+            public boolean onLine(String line) {
+                lines.add(line);
+                return true;
+            }
+        }));
+        assertEquals(Arrays.asList("一", "二", "", "三"), lines);
+
+        final List<String> firstTwo = new ArrayList<>();
+        assertFalse(FileOperation.forEachLine(file.getPath(), new FileOperation.LineCallback() {
+            @Override
+            public boolean onLine(String line) {
+                firstTwo.add(line);
+                return firstTwo.size() < 2;
+            }
+        }));
+        assertEquals(Arrays.asList("一", "二"), firstTwo);
+    }
+
+    @Test
+    public void readLineToListSkipsEmptyLinesAndCutsAtPlus() throws IOException {
+        File file = TestFiles.write(new File(temp.getRoot(), "list.txt"), "a+1\n\nb\n+c\nd+e+f\n");
+        assertEquals(Arrays.asList("a", "b", "", "d"), FileOperation.readLineToList(file.getPath()));
+        try {
+            FileOperation.readLineToList(new File(temp.getRoot(), "missing").getPath());
+            fail("FileNotFoundException expected");
+        } catch (FileNotFoundException expected) {
+            // 预期行为
+        }
+    }
+
+    @Test
+    public void sequenceCounterKeepsOnlyCurrentDayAfterDateChange() throws IOException {
+        String dir = temp.getRoot().getPath();
+        Date day1 = date(2025, 4, 24);
+        Date day2 = date(2025, 4, 25);
+        assertEquals("log_2025-04-24_1.txt", FileOperation.createDateNewFile(dir, "log", ".txt", day1).getName());
+        assertEquals("log_2025-04-24_2.txt", FileOperation.createDateNewFile(dir, "log", ".txt", day1).getName());
+        assertEquals("crash_2025-04-24_1.txt", FileOperation.createDateNewFile(dir, "crash", ".txt", day1).getName());
+        assertEquals(2, FileOperation.cachedSequenceCount());
+
+        // 日期变化后只保留当天的序号，新一天从 1 开始
+        File next = FileOperation.createDateNewFile(dir, "log", ".txt", day2);
+        assertEquals("log_2025-04-25_1.txt", next.getName());
+        assertEquals(new File(dir, "2025-04-25"), next.getParentFile());
+        assertEquals(1, FileOperation.cachedSequenceCount());
+
+        // 回到前一天（例如时钟回拨）时重新扫描目录，不会与已有文件重名
+        assertEquals("log_2025-04-24_3.txt", FileOperation.createDateNewFile(dir, "log", ".txt", day1).getName());
+        assertEquals(1, FileOperation.cachedSequenceCount());
+
+        // 日期目录被删除后序号从头开始
+        assertTrue(FileOperation.deleteFileOrDirectory(new File(dir, "2025-04-24")));
+        assertEquals("log_2025-04-24_1.txt", FileOperation.createDateNewFile(dir, "log", ".txt", day1).getName());
+    }
+
+    @Test
+    public void sequentialDeleteRemovesOnlyTheLinkToASmallDirectory() throws IOException {
+        File target = createDir(temp.newFolder("target"), 3);
+        File tree = temp.newFolder("tree");
+        TestFiles.write(new File(tree, "a.txt"), "a");
+        Files.createSymbolicLink(new File(tree, "link").toPath(), target.toPath());
+        FileOperation.deleteRecursively(tree);
+        assertFalse(tree.exists());
+        assertEquals(3, target.list().length);
+
+        File link = new File(temp.getRoot(), "link");
+        Files.createSymbolicLink(link.toPath(), target.toPath());
+        FileOperation.deleteRecursively(link);
+        assertFalse(FileStat.isSymbolicLink(link));
+        assertEquals(3, target.list().length);
+    }
+
+    @Test
+    public void deleteFileOrDirectoryRemovesOnlyLinks() throws IOException {
+        File target = createDir(temp.newFolder("target"), 3);
+        File tree = temp.newFolder("tree");
+        Files.createSymbolicLink(new File(tree, "link").toPath(), target.toPath());
+        assertTrue(FileOperation.deleteFileOrDirectory(tree));
+        assertFalse(tree.exists());
+        assertEquals(3, target.list().length);
+
+        File link = new File(temp.getRoot(), "link");
+        Files.createSymbolicLink(link.toPath(), target.toPath());
+        assertTrue(FileOperation.deleteFileOrDirectory(link));
+        assertFalse(FileStat.isSymbolicLink(link));
+        assertEquals(3, target.list().length);
+
+        // 目标不存在的链接同样可以删除
+        File dangling = new File(temp.getRoot(), "dangling");
+        Files.createSymbolicLink(dangling.toPath(), new File(temp.getRoot(), "missing").toPath());
+        assertTrue(FileOperation.deleteFileOrDirectory(dangling));
+        assertFalse(FileStat.isSymbolicLink(dangling));
+
+        assertFalse(FileOperation.deleteFileOrDirectory(null));
+        assertFalse(FileOperation.deleteFileOrDirectory(new File(temp.getRoot(), "missing")));
+    }
+
+    @Test
+    public void largeDirectoriesAreDeletedWithoutFollowingLinks() throws IOException {
+        File target = createDir(temp.newFolder("target"), 3);
+        // 直接子项超过并行删除阈值（128），API 21+ 时走 fork/join
+        File big = createDir(temp.newFolder("big"), 200);
+        createDir(new File(big, "nested"), 150);
+        Files.createSymbolicLink(new File(big, "link").toPath(), target.toPath());
+        FileOperation.deleteRecursively(big);
+        assertFalse(big.exists());
+        assertEquals(3, target.list().length);
+
+        File other = createDir(temp.newFolder("other"), 200);
+        Files.createSymbolicLink(new File(other, "link").toPath(), target.toPath());
+        assertTrue(FileOperation.deleteFileOrDirectory(other));
+        assertFalse(other.exists());
+
+        File parallel = createDir(temp.newFolder("parallel"), 200);
+        Files.createSymbolicLink(new File(parallel, "link").toPath(), target.toPath());
+        FileOperation.deleteRecursivelyParallel(parallel, 4);
+        assertFalse(parallel.exists());
+        assertEquals(3, target.list().length);
+
+        // null 或不存在时视为已删除
+        FileOperation.deleteRecursivelyParallel(null, 2);
+        FileOperation.deleteRecursivelyParallel(new File(temp.getRoot(), "missing"), 0);
+    }
+
+    private static File createDir(File dir, int fileCount) throws IOException {
+        for (int i = 0; i < fileCount; i++) {
+            TestFiles.write(new File(dir, "f" + i), "x");
+        }
+        return dir;
+    }
+
+    private static Date date(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month - 1, day, 12, 0);
+        return calendar.getTime();
+    }
+}
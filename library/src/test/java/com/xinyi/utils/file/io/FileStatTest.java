@@ -0,0 +1,74 @@
+package com.xinyi.utils.file.io;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 文件属性快照的测试
+ *
+ * @author 新一
+ * @since 2025/4/25 12:20
+ */
+public class FileStatTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void snapshotMatchesFileAttributes() throws IOException {
+        File file = TestFiles.write(new File(temp.getRoot(), "a.txt"), "hello");
+        // 毫秒部分不为 0，用于确认修改时间没有被截断到秒
+        assertTrue(file.setLastModified(1700000000123L));
+        FileStat stat = FileStat.of(file);
+        assertTrue(stat.exists());
+        assertTrue(stat.isFile());
+        assertFalse(stat.isDirectory());
+        assertEquals(5L, stat.length());
+        assertEquals(file.lastModified(), stat.lastModified());
+
+        File dir = temp.newFolder("dir");
+        FileStat dirStat = FileStat.of(dir);
+        assertTrue(dirStat.exists());
+        assertTrue(dirStat.isDirectory());
+        assertFalse(dirStat.isFile());
+        assertEquals(dir.lastModified(), dirStat.lastModified());
+    }
+
+    @Test
+    public void missingFileReturnsMissingSnapshot() {
+        assertSame(FileStat.MISSING, FileStat.of(null));
+        assertSame(FileStat.MISSING, FileStat.of(new File(temp.getRoot(), "missing")));
+        assertFalse(FileStat.MISSING.exists());
+    }
+
+    @Test
+    public void detectsSymbolicLinksWithoutFollowingThem() throws IOException {
+        File target = temp.newFolder("target");
+        File link = new File(temp.getRoot(), "link");
+        Files.createSymbolicLink(link.toPath(), target.toPath());
+        assertTrue(FileStat.isSymbolicLink(link));
+        assertFalse(FileStat.isSymbolicLink(target));
+        assertFalse(FileStat.isSymbolicLink(new File(temp.getRoot(), "missing")));
+        assertFalse(FileStat.isSymbolicLink(null));
+        // 快照跟随链接
+        assertTrue(FileStat.of(link).isDirectory());
+    }
+
+    @Test
+    public void hiddenMeansLeadingDot() {
+        assertTrue(FileStat.isHidden(new File(temp.getRoot(), ".nomedia")));
+        assertFalse(FileStat.isHidden(new File(temp.getRoot(), "a.txt")));
+    }
+}
@@ -0,0 +1,148 @@
+package com.xinyi.utils.file.io;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 惰性目录遍历器的测试
+ *
+ * @author 新一
+ * @since 2025/4/25 11:00
+ */
+public class FileWalkerTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File root;
+
+    /**
+     * a.txt、b/b1.txt、b/c/c1.txt、b/c/d/d1.txt、e/（空目录）
+     */
+    @Before
+    public void setUp() throws IOException {
+        root = temp.newFolder("root");
+        TestFiles.write(new File(root, "a.txt"), "a");
+        TestFiles.write(new File(root, "b/b1.txt"), "b1");
+        TestFiles.write(new File(root, "b/c/c1.txt"), "c1");
+        TestFiles.write(new File(root, "b/c/d/d1.txt"), "d1");
+        assertTrue(new File(root, "e").mkdir());
+    }
+
+    @Test
+    public void walksWholeTreeInPreOrderWithoutRoot() {
+        List<String> paths = new ArrayList<>();
+        for (File file : new FileWalker(root)) {
+            paths.add(relative(file));
+        }
+        assertEquals(new HashSet<>(Arrays.asList("a.txt", "b", "b/b1.txt", "b/c", "b/c/c1.txt",
+                "b/c/d", "b/c/d/d1.txt", "e")), new HashSet<>(paths));
+        assertEquals(8, paths.size());
+        // 先序：目录总是出现在其子项之前
+        for (String path : paths) {
+            int slash = path.lastIndexOf('/');
+            if (slash > 0) {
+                assertTrue(path, paths.indexOf(path.substring(0, slash)) < paths.indexOf(path));
+            }
+        }
+    }
+
+    @Test
+    public void reportsDepthAndHonoursMaxDepth() {
+        final Map<String, Integer> depths = new HashMap<>();
+        assertTrue(new FileWalker(root).maxDepth(2).walk(new FileWalker.Visitor() {
+            @Override
+            public boolean visit(File file, int depth) {
+                depths.put(relative(file), depth);
+                return true;
+            }
+        }));
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put("a.txt", 1);
+        expected.put("b", 1);
+        expected.put("e", 1);
+        expected.put("b/b1.txt", 2);
+        expected.put("b/c", 2);
+        assertEquals(expected, depths);
+    }
+
+    @Test
+    public void filterOnlyAffectsOutputWhileDescendFilterPrunes() {
+        FileFilter filesOnly = new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.isFile();
+            }
+        };
+        Set<String> files = new HashSet<>();
+        for (File file : new FileWalker(root).filter(filesOnly)) {
+            files.add(relative(file));
+        }
+        assertEquals(new HashSet<>(Arrays.asList("a.txt", "b/b1.txt", "b/c/c1.txt", "b/c/d/d1.txt")), files);
+
+        Set<String> pruned = new HashSet<>();
+        FileWalker walker = new FileWalker(root).descendFilter(new FileFilter() {
+            @Override
+            public boolean accept(File dir) {
+                return !dir.getName().equals("c");
+            }
+        });
+        for (File file : walker) {
+            pruned.add(relative(file));
+        }
+        // 被拒绝的目录本身仍会产出，只是不再进入
+        assertEquals(new HashSet<>(Arrays.asList("a.txt", "b", "b/b1.txt", "b/c", "e")), pruned);
+    }
+
+    @Test
+    public void visitorCanStopEarly() {
+        final int[] visited = {0};
+        assertFalse(new FileWalker(root).walk(new FileWalker.Visitor() {
+            @Override
+            public boolean visit(File file, int depth) {
+                return ++visited[0] < 3;
+            }
+        }));
+        assertEquals(3, visited[0]);
+    }
+
+    @Test
+    public void missingRootOrFileRootYieldsNothing() throws IOException {
+        Iterator<File> missing = new FileWalker(new File(root, "missing")).iterator();
+        assertFalse(missing.hasNext());
+        try {
+            missing.next();
+            fail("NoSuchElementException expected");
+        } catch (NoSuchElementException expected) {
+            // 预期行为
+        }
+        assertFalse(new FileWalker(new File(root, "a.txt")).iterator().hasNext());
+        assertFalse(new FileWalker(null).iterator().hasNext());
+    }
+
+    private String relative(File file) {
+        return file.getPath().substring(root.getPath().length() + 1).replace(File.separatorChar, '/');
+    }
+}
@@ -0,0 +1,64 @@
+package com.xinyi.utils.file.io;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * IOBufferPool 档位与复用测试
+ *
+ * @author 新一
+ * @since 2025/4/25 10:20
+ */
+public class IOBufferPoolTest {
+
+    @Test
+    public void normalizeClampsAndRoundsUp() {
+        assertEquals(IOBufferPool.MIN_BUFFER_SIZE, IOBufferPool.normalize(-1));
+        assertEquals(IOBufferPool.MIN_BUFFER_SIZE, IOBufferPool.normalize(1));
+        assertEquals(IOBufferPool.MIN_BUFFER_SIZE, IOBufferPool.normalize(64 * 1024));
+        assertEquals(128 * 1024, IOBufferPool.normalize(64 * 1024 + 1));
+        assertEquals(512 * 1024, IOBufferPool.normalize(300 * 1024));
+        assertEquals(IOBufferPool.MAX_BUFFER_SIZE, IOBufferPool.normalize(1024 * 1024));
+        assertEquals(IOBufferPool.MAX_BUFFER_SIZE, IOBufferPool.normalize(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void acquireReturnsNormalizedSize() {
+        byte[] buffer = IOBufferPool.acquire(200 * 1024);
+        assertEquals(256 * 1024, buffer.length);
+        IOBufferPool.release(buffer);
+    }
+
+    @Test
+    public void releasedBuffersAreReused() {
+        int size = 512 * 1024;
+        List<byte[]> first = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            first.add(IOBufferPool.acquire(size));
+        }
+        Map<byte[], Boolean> released = new IdentityHashMap<>();
+        for (byte[] buffer : first) {
+            IOBufferPool.release(buffer);
+            released.put(buffer, true);
+        }
+        for (int i = 0; i < 4; i++) {
+            assertTrue("应复用已归还的缓冲区", released.containsKey(IOBufferPool.acquire(size)));
+        }
+    }
+
+    @Test
+    public void releaseIgnoresForeignArrays() {
+        // 非档位大小的数组直接丢弃，不会被其他调用方取到
+        IOBufferPool.release(new byte[100 * 1024]);
+        IOBufferPool.release(new byte[16]);
+        IOBufferPool.release(null);
+        assertEquals(128 * 1024, IOBufferPool.acquire(100 * 1024).length);
+    }
+}
@@ -0,0 +1,104 @@
+package com.xinyi.utils.file.io;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 可取消的并行目录大小计算测试
+ *
+ * @author 新一
+ * @since 2025/4/25 11:40
+ */
+public class ParallelSizeCalculatorTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void matchesSequentialSize() throws IOException {
+        File root = createTree(temp.newFolder("root"), 20, 10);
+        ParallelSizeCalculator calculator = new ParallelSizeCalculator(4);
+        assertEquals(FileSizeUtil.getFileSizes(root), calculator.calculate(root));
+        assertEquals(expectedSize(20, 10), calculator.calculate(root));
+        assertEquals(7L, calculator.calculate(TestFiles.write(new File(root, "single.bin"), new byte[7])));
+        assertEquals(0L, calculator.calculate(null));
+    }
+
+    @Test
+    public void cancelBeforeStartThrowsUntilReset() throws IOException {
+        File root = createTree(temp.newFolder("root"), 2, 2);
+        ParallelSizeCalculator calculator = new ParallelSizeCalculator(0);
+        calculator.cancel();
+        assertTrue(calculator.isCancelled());
+        try {
+            calculator.calculate(root);
+            fail("CancellationException expected");
+        } catch (CancellationException expected) {
+            // 预期行为
+        }
+        calculator.reset();
+        assertFalse(calculator.isCancelled());
+        assertEquals(expectedSize(2, 2), calculator.calculate(root));
+    }
+
+    @Test
+    public void cancelDuringCalculationStopsIt() throws Exception {
+        final File root = createTree(temp.newFolder("root"), 100, 30);
+        final ParallelSizeCalculator calculator = new ParallelSizeCalculator(2);
+        final AtomicReference<Object> outcome = new AtomicReference<>();
+        Thread worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    outcome.set(calculator.calculate(root));
+                } catch (CancellationException e) {
+                    outcome.set(e);
+                }
+            }
+        });
+        worker.start();
+        calculator.cancel();
+        worker.join(30000);
+        assertFalse(worker.isAlive());
+        // 取消可能晚于计算完成，此时结果必须完整
+        Object result = outcome.get();
+        assertTrue(String.valueOf(result), result instanceof CancellationException
+                || Long.valueOf(expectedSize(100, 30)).equals(result));
+        try {
+            calculator.calculate(root);
+            fail("CancellationException expected");
+        } catch (CancellationException expected) {
+            // 取消状态会一直保留
+        }
+    }
+
+    /**
+     * 创建 dirCount 个子目录，每个子目录下 filesPerDir 个文件，第 j 个文件 j + 1 字节，另含一层嵌套目录
+     */
+    private static File createTree(File root, int dirCount, int filesPerDir) throws IOException {
+        for (int i = 0; i < dirCount; i++) {
+            File dir = new File(root, "dir" + i + "/nested");
+            for (int j = 0; j < filesPerDir; j++) {
+                TestFiles.write(new File(j % 2 == 0 ? dir : dir.getParentFile(), "f" + j), new byte[j + 1]);
+            }
+        }
+        return root;
+    }
+
+    private static long expectedSize(int dirCount, int filesPerDir) {
+        return (long) dirCount * filesPerDir * (filesPerDir + 1) / 2;
+    }
+}
@@ -0,0 +1,92 @@
+package com.xinyi.utils.file.zip;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 按策略存储或压缩条目的串行压缩测试
+ *
+ * @author 新一
+ * @since 2025/4/25 10:40
+ */
+public class AdaptiveCompressionTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void storedEntriesRoundTripWithValidLocalHeaders() throws IOException {
+        File source = temp.newFolder("src");
+        Map<String, byte[]> expected = new HashMap<>();
+        // 大于采样长度的随机数据、小于采样长度的图片、空文件：均应存储
+        expected.put("src/random.bin", TestFiles.randomBytes(300 * 1024 + 17, 1));
+        expected.put("src/photo.jpg", TestFiles.randomBytes(1000, 2));
+        expected.put("src/empty.jpg", new byte[0]);
+        // 可压缩文本：应压缩
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            text.append("line ").append(i % 10).append('\n');
+        }
+        expected.put("src/log.txt", text.toString().getBytes(StandardCharsets.UTF_8));
+        for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+            TestFiles.write(new File(temp.getRoot(), entry.getKey()), entry.getValue());
+        }
+        File zipFile = new File(temp.getRoot(), "out.zip");
+
+        assertTrue(StandardZipUtil.zipFiles(Collections.singletonList(source), zipFile, "注释",
+                new AdaptiveCompressionPolicy()));
+
+        try (ZipFile zip = new ZipFile(zipFile)) {
+            assertEquals(ZipEntry.STORED, zip.getEntry("src/random.bin").getMethod());
+            assertEquals(ZipEntry.STORED, zip.getEntry("src/photo.jpg").getMethod());
+            assertEquals(ZipEntry.STORED, zip.getEntry("src/empty.jpg").getMethod());
+            assertEquals(ZipEntry.DEFLATED, zip.getEntry("src/log.txt").getMethod());
+            assertEquals("注释", zip.getEntry("src/random.bin").getComment());
+            for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+                try (InputStream is = zip.getInputStream(zip.getEntry(entry.getKey()))) {
+                    assertArrayEquals(entry.getKey(), entry.getValue(), readFully(is));
+                }
+            }
+        }
+        // ZipInputStream 依据本地文件头中的 CRC 校验 STORED 条目
+        int count = 0;
+        try (ZipInputStream zis = new ZipInputStream(new FileInputStream(zipFile))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                assertArrayEquals(entry.getName(), expected.get(entry.getName()), readFully(zis));
+                count++;
+            }
+        }
+        assertEquals(expected.size(), count);
+    }
+
+    private static byte[] readFully(InputStream is) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int len;
+        while ((len = is.read(buffer)) != -1) {
+            out.write(buffer, 0, len);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,97 @@
+package com.xinyi.utils.file.zip;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 通配符条目过滤器的匹配规则及选择性解压测试
+ *
+ * @author 新一
+ * @since 2025/4/25 14:10
+ */
+public class GlobEntryFilterTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void doubleStarSlashMatchesZeroOrMoreDirectories() {
+        GlobEntryFilter filter = new GlobEntryFilter("**/*.json");
+        assertTrue(filter.accept("a.json"));
+        assertTrue(filter.accept("x/a.json"));
+        assertTrue(filter.accept("x/y/a.json"));
+        assertFalse(filter.accept("a.jsonx"));
+        assertFalse(filter.accept("x/a.txt"));
+
+        GlobEntryFilter middle = new GlobEntryFilter("a/**/b");
+        assertTrue(middle.accept("a/b"));
+        assertTrue(middle.accept("a/x/b"));
+        assertTrue(middle.accept("a/x/y/b"));
+        assertFalse(middle.accept("a/xb"));
+        assertFalse(middle.accept("ab"));
+    }
+
+    @Test
+    public void trailingDoubleStarMatchesAnythingBelow() {
+        GlobEntryFilter filter = new GlobEntryFilter("assets/**");
+        assertTrue(filter.accept("assets/"));
+        assertTrue(filter.accept("assets/a.png"));
+        assertTrue(filter.accept("assets/b/c/d.png"));
+        assertFalse(filter.accept("assets"));
+        assertFalse(filter.accept("assetsX/a.png"));
+        assertFalse(filter.accept("lib/assets/a.png"));
+    }
+
+    @Test
+    public void singleStarAndQuestionMarkStayWithinOneDirectory() {
+        GlobEntryFilter star = new GlobEntryFilter("*.txt");
+        assertTrue(star.accept("a.txt"));
+        assertTrue(star.accept(".txt"));
+        assertFalse(star.accept("d/a.txt"));
+        assertFalse(new GlobEntryFilter("*").accept("a/b"));
+
+        GlobEntryFilter question = new GlobEntryFilter("?.txt", "d?a");
+        assertTrue(question.accept("a.txt"));
+        assertTrue(question.accept("中.txt"));
+        assertFalse(question.accept("ab.txt"));
+        assertFalse(question.accept(".txt"));
+        assertFalse(question.accept("/.txt"));
+        assertTrue(question.accept("dxa"));
+        assertFalse(question.accept("d/a"));
+        assertFalse(new GlobEntryFilter().accept("a.txt"));
+    }
+
+    @Test
+    public void unzipByGlobExtractsOnlyMatchingEntries() throws IOException {
+        File zipFile = new File(temp.getRoot(), "glob.zip");
+        String[] names = {"a.json", "config/b.json", "config/deep/c.json", "config/d.txt", "e.txt"};
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            for (String name : names) {
+                zos.putNextEntry(new ZipEntry(name));
+                zos.write(name.getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+        File destDir = temp.newFolder("out");
+        assertTrue(StandardZipUtil.unzipFileByGlob(zipFile, destDir, "config/**/*.json", "e.?xt"));
+        assertEquals("config/b.json", TestFiles.readString(new File(destDir, "config/b.json")));
+        assertEquals("config/deep/c.json", TestFiles.readString(new File(destDir, "config/deep/c.json")));
+        assertEquals("e.txt", TestFiles.readString(new File(destDir, "e.txt")));
+        assertFalse(new File(destDir, "a.json").exists());
+        assertFalse(new File(destDir, "config/d.txt").exists());
+    }
+}
@@ -0,0 +1,111 @@
+package com.xinyi.utils.file.zip;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 并行解压与串行解压、java.util.zip 的一致性测试
+ *
+ * @author 新一
+ * @since 2025/4/25 10:20
+ */
+public class ParallelZipExtractorTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void serialAndParallelUnzipMatchJavaUtilZip() throws IOException {
+        Map<String, byte[]> entries = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 40; i++) {
+            byte[] data = new byte[random.nextInt(200 * 1024)];
+            if (i % 2 == 0) {
+                random.nextBytes(data);
+            } else {
+                byte[] line = ("line " + i + " 可压缩的日志内容\n").getBytes(StandardCharsets.UTF_8);
+                for (int j = 0; j < data.length; j++) {
+                    data[j] = line[j % line.length];
+                }
+            }
+            entries.put("dir" + (i % 5) + "/sub/file" + i + ".bin", data);
+        }
+        entries.put("empty.txt", new byte[0]);
+        entries.put("top.txt", "hello".getBytes(StandardCharsets.UTF_8));
+        File zipFile = writeZip(entries, "emptyDir/");
+
+        File serialDir = temp.newFolder("serial");
+        File parallelDir = temp.newFolder("parallel");
+        assertTrue(StandardZipUtil.unzipFile(zipFile, serialDir));
+        assertTrue(StandardZipUtil.unzipFile(zipFile, parallelDir, 4));
+
+        for (File dir : new File[]{serialDir, parallelDir}) {
+            assertTrue(new File(dir, "emptyDir").isDirectory());
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                File file = new File(dir, entry.getKey());
+                assertTrue(file.getPath(), file.isFile());
+                assertArrayEquals(file.getPath(), entry.getValue(), TestFiles.read(file));
+            }
+        }
+    }
+
+    @Test
+    public void moreThreadsThanFilesAndDirectoryOnlyArchives() throws IOException {
+        Map<String, byte[]> entries = new HashMap<>();
+        entries.put("only.txt", "only".getBytes(StandardCharsets.UTF_8));
+        File single = writeZip(entries);
+        File singleDir = temp.newFolder("single");
+        assertTrue(StandardZipUtil.unzipFile(single, singleDir, 8));
+        assertEquals("only", TestFiles.readString(new File(singleDir, "only.txt")));
+
+        File dirsOnly = writeZip(new HashMap<String, byte[]>(), "a/", "a/b/");
+        File dirsOnlyDir = temp.newFolder("dirsOnly");
+        assertTrue(StandardZipUtil.unzipFile(dirsOnly, dirsOnlyDir, 4));
+        assertTrue(new File(dirsOnlyDir, "a/b").isDirectory());
+    }
+
+    /**
+     * 用 java.util.zip 生成测试用 ZIP，名称以 "7.bin" 结尾的条目使用 STORED
+     */
+    private File writeZip(Map<String, byte[]> entries, String... directories) throws IOException {
+        File zipFile = File.createTempFile("input", ".zip", temp.getRoot());
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            for (String directory : directories) {
+                zos.putNextEntry(new ZipEntry(directory));
+                zos.closeEntry();
+            }
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                if (entry.getKey().endsWith("7.bin")) {
+                    zipEntry.setMethod(ZipEntry.STORED);
+                    zipEntry.setSize(entry.getValue().length);
+                    CRC32 crc = new CRC32();
+                    crc.update(entry.getValue());
+                    zipEntry.setCrc(crc.getValue());
+                }
+                zos.putNextEntry(zipEntry);
+                zos.write(entry.getValue());
+                zos.closeEntry();
+            }
+        }
+        return zipFile;
+    }
+}
@@ -0,0 +1,153 @@
+package com.xinyi.utils.file.zip;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 并行压缩与 java.util.zip 的互通测试
+ *
+ * @author 新一
+ * @since 2025/4/25 10:00
+ */
+public class ParallelZipWriterTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void parallelZipIsReadableByJavaUtilZip() throws IOException {
+        File source = createSourceTree(temp.newFolder("src"));
+        File serialZip = new File(temp.getRoot(), "serial.zip");
+        File parallelZip = new File(temp.getRoot(), "parallel.zip");
+
+        assertTrue(StandardZipUtil.zipFiles(Collections.singletonList(source), serialZip, "注释"));
+        assertTrue(StandardZipUtil.zipFiles(Collections.singletonList(source), parallelZip, "注释", 4));
+
+        assertSameEntries(readWithZipFile(serialZip), readWithZipFile(parallelZip));
+        // 按顺序流式读取同样要能通过本地文件头和 CRC 校验
+        assertSameEntries(readWithZipFile(serialZip), readWithZipInputStream(parallelZip));
+        try (ZipFile zip = new ZipFile(parallelZip)) {
+            assertEquals("注释", zip.getEntry("src/a.txt").getComment());
+        }
+    }
+
+    @Test
+    public void smallInputFallsBackToSerialWithSameEntries() throws IOException {
+        File source = temp.newFolder("small");
+        TestFiles.write(new File(source, "a.txt"), "hello");
+        TestFiles.write(new File(source, "nested/b.txt"), "world");
+        assertTrue(new File(source, "emptyDir").mkdir());
+        File serialZip = new File(temp.getRoot(), "serial.zip");
+        File fallbackZip = new File(temp.getRoot(), "fallback.zip");
+
+        assertTrue(StandardZipUtil.zipFiles(Collections.singletonList(source), serialZip, null));
+        assertTrue(StandardZipUtil.zipFiles(Collections.singletonList(source), fallbackZip, null, 4,
+                new AdaptiveCompressionPolicy()));
+
+        Map<String, byte[]> actual = readWithZipFile(fallbackZip);
+        assertSameEntries(readWithZipFile(serialZip), actual);
+        assertTrue(actual.containsKey("small/emptyDir/"));
+        assertArrayEquals("world".getBytes(StandardCharsets.UTF_8), actual.get("small/nested/b.txt"));
+    }
+
+    /**
+     * 生成超过并行压缩阈值（1MB）的目录树，包含随机数据、可压缩文本、空文件和空目录
+     */
+    private static File createSourceTree(File root) throws IOException {
+        Random random = new Random(7);
+        TestFiles.write(new File(root, "a.txt"), "hello");
+        TestFiles.write(new File(root, "empty.txt"), new byte[0]);
+        assertTrue(new File(root, "emptyDir").mkdir());
+        File nested = new File(root, "nested/deeper");
+        for (int i = 0; i < 12; i++) {
+            byte[] data = new byte[64 * 1024 + random.nextInt(128 * 1024)];
+            if (i % 3 == 0) {
+                random.nextBytes(data);
+            } else {
+                fillText(data, i);
+            }
+            TestFiles.write(new File(i % 2 == 0 ? root : nested, "file" + i + ".dat"), data);
+        }
+        byte[] large = new byte[1536 * 1024];
+        fillText(large, 99);
+        TestFiles.write(new File(nested, "large.log"), large);
+        return root;
+    }
+
+    private static void fillText(byte[] data, int seed) {
+        byte[] line = ("line " + seed + " 可压缩的日志内容 0123456789\n").getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = line[i % line.length];
+        }
+    }
+
+    private static void assertSameEntries(Map<String, byte[]> expected, Map<String, byte[]> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+            assertArrayEquals(entry.getKey(), entry.getValue(), actual.get(entry.getKey()));
+        }
+    }
+
+    private static Map<String, byte[]> readWithZipFile(File zipFile) throws IOException {
+        Map<String, byte[]> result = new HashMap<>();
+        try (ZipFile zip = new ZipFile(zipFile)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                try (InputStream is = zip.getInputStream(entry)) {
+                    byte[] data = readFully(is);
+                    if (!entry.isDirectory()) {
+                        assertEquals(entry.getName(), entry.getSize(), data.length);
+                    }
+                    result.put(entry.getName(), data);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, byte[]> readWithZipInputStream(File zipFile) throws IOException {
+        Map<String, byte[]> result = new HashMap<>();
+        try (ZipInputStream zis = new ZipInputStream(new FileInputStream(zipFile))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                assertNotNull(entry.getName());
+                result.put(entry.getName(), readFully(zis));
+            }
+        }
+        return result;
+    }
+
+    private static byte[] readFully(InputStream is) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int len;
+        while ((len = is.read(buffer)) != -1) {
+            out.write(buffer, 0, len);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,168 @@
+package com.xinyi.utils.file.zip;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * ZIP64 读取测试：条目数超过 65535 时 java.util.zip 会写出 ZIP64 中央目录结束记录；
+ * 同时覆盖损坏的中央目录记录被拒绝
+ *
+ * @author 新一
+ * @since 2025/4/25 10:30
+ */
+public class Zip64Test {
+
+    /** 超过标准 ZIP 16 位条目数上限 */
+    private static final int ENTRY_COUNT = 70000;
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void readsZip64EntryCount() throws IOException {
+        File zipFile = createZip64();
+        try (ZipFile zip = new ZipFile(zipFile)) {
+            assertEquals(ENTRY_COUNT, zip.size());
+        }
+
+        try (MappedZipReader reader = MappedZipReader.open(zipFile)) {
+            assertEquals(ENTRY_COUNT, reader.size());
+            MappedZipReader.Cursor cursor = reader.cursor();
+            int count = 0;
+            while (cursor.next()) {
+                assertEquals(entryName(count), cursor.getName());
+                assertEquals(content(count).length, cursor.getSize());
+                count++;
+            }
+            assertEquals(ENTRY_COUNT, count);
+        }
+
+        List<String> paths = StandardZipUtil.getFilesPath(zipFile);
+        assertEquals(ENTRY_COUNT, paths.size());
+        assertEquals(entryName(ENTRY_COUNT - 1), paths.get(ENTRY_COUNT - 1));
+    }
+
+    @Test
+    public void lookupAndExtractFromZip64() throws IOException {
+        File zipFile = createZip64();
+        try (ZipIndex index = ZipIndex.open(zipFile)) {
+            assertEquals(ENTRY_COUNT, index.size());
+            for (int i : new int[]{0, 65535, 65536, ENTRY_COUNT - 1}) {
+                int found = index.indexOf(entryName(i));
+                assertEquals(entryName(i), index.getName(found));
+            }
+            assertEquals(-1, index.indexOf("missing"));
+        }
+
+        File single = new File(temp.getRoot(), "single.txt");
+        assertTrue(StandardZipUtil.extractEntry(zipFile, entryName(ENTRY_COUNT - 1), single));
+        assertArrayEquals(content(ENTRY_COUNT - 1), TestFiles.read(single));
+
+        File destDir = temp.newFolder("out");
+        assertTrue(StandardZipUtil.unzipFile(zipFile, destDir, 4));
+        for (int i = 0; i < ENTRY_COUNT; i += 997) {
+            assertArrayEquals(content(i), TestFiles.read(new File(destDir, entryName(i))));
+        }
+        assertArrayEquals(content(ENTRY_COUNT - 1), TestFiles.read(new File(destDir, entryName(ENTRY_COUNT - 1))));
+    }
+
+    @Test
+    public void rejectsNameLengthPastCentralDirectory() throws IOException {
+        File zipFile = createSmallZip();
+        try (RandomAccessFile raf = new RandomAccessFile(zipFile, "rw")) {
+            // 第一条中央目录记录的文件名长度（偏移 28）改为远超中央目录的值
+            raf.seek(readEndRecord(raf).getInt(16) + 28);
+            raf.write(new byte[]{(byte) 0xFF, (byte) 0xFF});
+        }
+        try (MappedZipReader reader = MappedZipReader.open(zipFile)) {
+            MappedZipReader.Cursor cursor = reader.cursor();
+            while (cursor.next()) {
+                cursor.getName();
+            }
+            fail("越界的中央目录记录应被拒绝");
+        } catch (ZipException expected) {
+            // 预期异常
+        }
+    }
+
+    @Test
+    public void rejectsEntryCountLargerThanCentralDirectory() throws IOException {
+        File zipFile = createSmallZip();
+        try (RandomAccessFile raf = new RandomAccessFile(zipFile, "rw")) {
+            long end = raf.length() - 22;
+            // 中央目录结束记录中本磁盘条目数（偏移 8）和总条目数（偏移 10）改为 3
+            raf.seek(end + 8);
+            raf.write(new byte[]{3, 0, 3, 0});
+        }
+        try {
+            ZipIndex.open(zipFile).close();
+            fail("条目数与中央目录不符时应被拒绝");
+        } catch (ZipException expected) {
+            // 预期异常
+        }
+    }
+
+    /**
+     * 读取没有注释的 ZIP 文件末尾 22 字节的中央目录结束记录
+     */
+    private static ByteBuffer readEndRecord(RandomAccessFile raf) throws IOException {
+        byte[] end = new byte[22];
+        raf.seek(raf.length() - 22);
+        raf.readFully(end);
+        return ByteBuffer.wrap(end).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private File createSmallZip() throws IOException {
+        File zipFile = new File(temp.getRoot(), "small.zip");
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            for (int i = 0; i < 2; i++) {
+                zos.putNextEntry(new ZipEntry(entryName(i)));
+                zos.write(content(i));
+                zos.closeEntry();
+            }
+        }
+        return zipFile;
+    }
+
+    private File createZip64() throws IOException {
+        File zipFile = new File(temp.getRoot(), "zip64.zip");
+        try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zipFile)))) {
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                zos.putNextEntry(new ZipEntry(entryName(i)));
+                zos.write(content(i));
+                zos.closeEntry();
+            }
+        }
+        return zipFile;
+    }
+
+    private static String entryName(int i) {
+        return "d" + (i % 64) + "/f" + i + ".txt";
+    }
+
+    private static byte[] content(int i) {
+        return ("entry " + i).getBytes(StandardCharsets.UTF_8);
+    }
+}
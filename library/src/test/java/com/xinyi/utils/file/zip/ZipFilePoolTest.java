@@ -0,0 +1,123 @@
+package com.xinyi.utils.file.zip;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * ZipFilePool 复用、按修改时间失效和 LRU 淘汰的测试
+ *
+ * @author 新一
+ * @since 2025/4/25 13:50
+ */
+public class ZipFilePoolTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void reusesHandleUntilModificationTimeChanges() throws IOException {
+        File zipFile = writeZip("a.zip", "v1");
+        ZipFilePool pool = new ZipFilePool(4);
+        ZipFilePool.Handle first = pool.acquire(zipFile);
+        ZipFile opened = first.getZipFile();
+        try (ZipFilePool.Handle second = pool.acquire(zipFile)) {
+            assertSame(opened, second.getZipFile());
+        }
+
+        // 长度不变、只有修改时间变化也要重新打开
+        assertTrue(zipFile.setLastModified(zipFile.lastModified() - 10000));
+        try (ZipFilePool.Handle reopened = pool.acquire(zipFile)) {
+            assertFalse(reopened.getZipFile() == opened);
+        }
+        // 被淘汰的旧句柄在最后一个使用者释放前仍然可用
+        assertFalse(isClosed(opened));
+        first.close();
+        assertTrue(isClosed(opened));
+        // 重复关闭无副作用
+        first.close();
+        pool.close();
+    }
+
+    @Test
+    public void readsNewContentAfterRewrite() throws IOException {
+        File zipFile = writeZip("a.zip", "v1");
+        ZipFilePool pool = new ZipFilePool(4);
+        assertArrayEquals(bytes("v1"), pool.readEntryBytes(zipFile, "entry.txt"));
+        writeZip("a.zip", "version 2");
+        assertTrue(zipFile.setLastModified(zipFile.lastModified() + 10000));
+        assertArrayEquals(bytes("version 2"), pool.readEntryBytes(zipFile, "entry.txt"));
+        assertNull(pool.readEntryBytes(zipFile, "missing.txt"));
+        assertNull(pool.openEntryStream(zipFile, "missing.txt"));
+        pool.close();
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedHandle() throws IOException {
+        File a = writeZip("a.zip", "a");
+        File b = writeZip("b.zip", "b");
+        File c = writeZip("c.zip", "c");
+        ZipFilePool pool = new ZipFilePool(2);
+        ZipFile zipA = acquireAndRelease(pool, a);
+        ZipFile zipB = acquireAndRelease(pool, b);
+        // 访问 a 后 b 成为最久未使用
+        assertSame(zipA, acquireAndRelease(pool, a));
+        acquireAndRelease(pool, c);
+        assertTrue(isClosed(zipB));
+        assertFalse(isClosed(zipA));
+        assertSame(zipA, acquireAndRelease(pool, a));
+
+        pool.close();
+        assertTrue(isClosed(zipA));
+        try {
+            pool.acquire(a);
+            fail("关闭后获取应抛出异常");
+        } catch (IOException expected) {
+            // 预期异常
+        }
+    }
+
+    private static ZipFile acquireAndRelease(ZipFilePool pool, File zipFile) throws IOException {
+        try (ZipFilePool.Handle handle = pool.acquire(zipFile)) {
+            return handle.getZipFile();
+        }
+    }
+
+    private static boolean isClosed(ZipFile zipFile) {
+        try {
+            zipFile.size();
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+
+    private File writeZip(String name, String content) throws IOException {
+        File zipFile = new File(temp.getRoot(), name);
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            zos.putNextEntry(new ZipEntry("entry.txt"));
+            zos.write(bytes(content));
+            zos.closeEntry();
+        }
+        return zipFile;
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
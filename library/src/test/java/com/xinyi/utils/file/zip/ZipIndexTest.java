@@ -0,0 +1,102 @@
+package com.xinyi.utils.file.zip;
+
+import com.xinyi.utils.file.TestFiles;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ZipIndex 按名称二分查找的测试，重点覆盖 UTF-8 字节序与 UTF-16 字符序不一致的名称
+ *
+ * @author 新一
+ * @since 2025/4/25 13:30
+ */
+public class ZipIndexTest {
+
+    /**
+     * U+FF61 的 UTF-16 值大于代理对 U+D83D，但 UTF-8 编码（EF BD A1）小于 emoji（F0 9F 98 80），
+     * 按 String 排序查找会漏掉其中之一
+     */
+    private static final List<String> NAMES = Arrays.asList(
+            "a.txt", "a.txt.bak", "b/", "b/c.txt", "B.txt", "é.txt", "中文/文件.txt", "中文目录/",
+            "｡.txt", "😀.txt", "z/é/中😀", "~tilde");
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void findsEveryNonAsciiNameInShuffledArchive() throws IOException {
+        File zipFile = writeZip();
+        try (ZipIndex index = ZipIndex.open(zipFile)) {
+            assertEquals(NAMES.size() + 30, index.size());
+            for (String name : NAMES) {
+                int i = index.indexOf(name);
+                assertTrue(name, i >= 0);
+                assertEquals(name, index.getName(i));
+                assertEquals(name, name.endsWith("/"), index.isDirectory(i));
+            }
+            for (String missing : Arrays.asList("", "a", "a.tx", "b", "中文", "😁.txt", "zz")) {
+                assertEquals(missing, -1, index.indexOf(missing));
+            }
+        }
+    }
+
+    @Test
+    public void extractEntryLocatesNonAsciiEntries() throws IOException {
+        File zipFile = writeZip();
+        for (String name : NAMES) {
+            File dest = new File(temp.getRoot(), "out/" + Math.abs(name.hashCode()));
+            if (name.endsWith("/")) {
+                assertFalse(name, StandardZipUtil.extractEntry(zipFile, name, dest));
+                continue;
+            }
+            assertTrue(name, StandardZipUtil.extractEntry(zipFile, name, dest));
+            assertArrayEquals(name, content(name), TestFiles.read(dest));
+        }
+        assertFalse(StandardZipUtil.extractEntry(zipFile, "missing", new File(temp.getRoot(), "missing")));
+    }
+
+    /**
+     * 以随机顺序写入 NAMES 及 30 个普通条目，确保查找不依赖写入顺序
+     */
+    private File writeZip() throws IOException {
+        List<String> names = new ArrayList<>(NAMES);
+        for (int i = 0; i < 30; i++) {
+            names.add("filler/" + i + ".bin");
+        }
+        Collections.shuffle(names, new Random(3));
+        File zipFile = new File(temp.getRoot(), "index.zip");
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            for (String name : names) {
+                zos.putNextEntry(new ZipEntry(name));
+                if (!name.endsWith("/")) {
+                    zos.write(content(name));
+                }
+                zos.closeEntry();
+            }
+        }
+        return zipFile;
+    }
+
+    private static byte[] content(String name) {
+        return ("内容:" + name).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+package com.xinyi.utils.file.zip;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 解压时的 Zip Slip 路径拦截测试
+ *
+ * @author 新一
+ * @since 2025/4/25 11:00
+ */
+public class ZipSlipTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void normalizeKeepsEntriesInsideDestDir() throws ZipException {
+        assertEquals("a/b.txt", ZipExtractPlan.normalize("a/b.txt"));
+        assertEquals("a/b.txt", ZipExtractPlan.normalize("./a//c/../b.txt"));
+        assertEquals("a/b.txt", ZipExtractPlan.normalize("a\\b.txt"));
+        assertEquals("a:b.txt", ZipExtractPlan.normalize("a:b.txt"));
+        assertEquals("dir/c:d", ZipExtractPlan.normalize("dir/c:d"));
+        assertEquals("", ZipExtractPlan.normalize("a/../"));
+    }
+
+    @Test
+    public void normalizeRejectsEscapingEntries() {
+        String[] names = {"../evil.txt", "a/../../evil.txt", "..\\evil.txt", "/etc/evil.txt", "\\evil.txt",
+                "C:", "C:/evil.txt", "c:\\evil.txt"};
+        for (String name : names) {
+            try {
+                ZipExtractPlan.normalize(name);
+                fail("未拦截: " + name);
+            } catch (ZipException expected) {
+                // 预期被拦截
+            }
+        }
+    }
+
+    @Test
+    public void unzipRejectsTraversalWithoutWritingAnything() throws IOException {
+        File zipFile = createZip("evil.zip", "good.txt", "a/../../evil.txt");
+        File outside = new File(temp.getRoot(), "evil.txt");
+        for (int threads : new int[]{1, 4}) {
+            File destDir = new File(temp.getRoot(), "out" + threads);
+            try {
+                StandardZipUtil.unzipFile(zipFile, destDir, threads);
+                fail("未拦截越出解压目录的条目, threads=" + threads);
+            } catch (ZipException expected) {
+                // 预期被拦截
+            }
+            assertFalse(outside.exists());
+            // 校验在写出任何文件之前完成
+            assertFalse(new File(destDir, "good.txt").exists());
+        }
+    }
+
+    @Test
+    public void unzipWithFilterRejectsAbsolutePath() throws IOException {
+        File zipFile = createZip("abs.zip", "/abs.txt");
+        File destDir = temp.newFolder("out");
+        try {
+            StandardZipUtil.unzipFileByGlob(zipFile, destDir, "**");
+            fail("未拦截绝对路径条目");
+        } catch (ZipException expected) {
+            // 预期被拦截
+        }
+        String[] children = destDir.list();
+        assertEquals(0, children == null ? 0 : children.length);
+    }
+
+    @Test
+    public void unzipAllowsColonInFileName() throws IOException {
+        File zipFile = createZip("colon.zip", "a:b.txt");
+        File destDir = temp.newFolder("out");
+        assertTrue(StandardZipUtil.unzipFile(zipFile, destDir));
+        assertTrue(new File(destDir, "a:b.txt").isFile());
+    }
+
+    private File createZip(String fileName, String... entryNames) throws IOException {
+        File zipFile = new File(temp.getRoot(), fileName);
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            for (String name : entryNames) {
+                zos.putNextEntry(new ZipEntry(name));
+                zos.write(name.getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+        return zipFile;
+    }
+}